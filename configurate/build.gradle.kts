@@ -1,6 +1,7 @@
 plugins {
     groovy
     alias(libs.plugins.eclipseApt)
+    alias(libs.plugins.jmh)
 }
 
 dependencies {
@@ -19,6 +20,7 @@ dependencies {
     }
     implementation(libs.gson)
     api(libs.configurate.xml)
+    implementation(libs.jackson.toml)
 }
 
 indraPluginPublishing {
@@ -27,7 +29,7 @@ indraPluginPublishing {
         "ca.stellardrift.build.configurate.transformations.ConfigurateTransformationsPlugin",
         "File transformations for the Copy task using Configurate",
         "Configurate Transformations",
-        listOf("configuration", "verification", "xml", "yaml", "hocon")
+        listOf("configuration", "verification", "xml", "yaml", "hocon", "toml")
     )
     plugin(
         "polyglot-version-catalogs",
@@ -36,6 +38,19 @@ indraPluginPublishing {
         "Polyglot Version Catalogs",
         listOf("polyglot", "dependency-management", "xml", "yaml", "hocon")
     )
+    plugin(
+        "polyglot-catalog-compiler",
+        "ca.stellardrift.build.configurate.catalog.PolyglotCatalogCompilerPlugin",
+        "Compile polyglot version catalogs to Gradle's TOML catalog format",
+        "Polyglot Catalog Compiler",
+        listOf("polyglot", "dependency-management", "version-catalog", "toml")
+    )
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    profilers.add("gc")
+    resultFormat.set("JSON")
 }
 
 tasks {
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Generated configuration documents for benchmarks.
+ */
+public final class BenchmarkData {
+    private static final int SAMPLE_ENTRIES = 16;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Resolve a format from a benchmark parameter.
+     *
+     * @param id the format's extension
+     * @return the format
+     */
+    public static ConfigProcessor<?, ?> format(final String id) {
+        final ConfigProcessor<?, ?> format = ConfigFormats.byExtension(id);
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown format " + id);
+        }
+        return format;
+    }
+
+    /**
+     * Generate a node that serializes to approximately {@code size} characters in {@code format}.
+     *
+     * @param format the format the node will be written in
+     * @param size the target size, in characters
+     * @return a generated node
+     * @throws ConfigurateException if the node could not be written
+     */
+    public static ConfigurationNode node(final ConfigTarget format, final int size) throws ConfigurateException {
+        final StringWriter sample = new StringWriter();
+        format.write(sample, node(SAMPLE_ENTRIES));
+        final int perEntry = Math.max(1, sample.getBuffer().length() / SAMPLE_ENTRIES);
+        return node(Math.max(1, size / perEntry));
+    }
+
+    /**
+     * Generate a document of approximately {@code size} characters in {@code format}.
+     *
+     * @param format the format to write in
+     * @param size the target size, in characters
+     * @return the serialized document
+     * @throws ConfigurateException if the node could not be written
+     */
+    public static String document(final ConfigTarget format, final int size) throws ConfigurateException {
+        final StringWriter writer = new StringWriter(size);
+        format.write(writer, node(format, size));
+        return writer.toString();
+    }
+
+    private static ConfigurationNode node(final int entries) throws SerializationException {
+        final ConfigurationNode root = BasicConfigurationNode.root();
+        for (int i = 0; i < entries; i++) {
+            final ConfigurationNode entry = root.node("entry-" + i);
+            entry.node("id").set(i);
+            entry.node("name").set("Generated entry number " + i);
+            entry.node("enabled").set(i % 2 == 0);
+            entry.node("weight").set(i * 0.25d);
+            entry.node("tags").setList(String.class, Arrays.asList("alpha", "beta", "gamma-" + (i % 7)));
+        }
+        return root;
+    }
+
+    /**
+     * Read {@code reader} to its end, discarding the content.
+     *
+     * @param reader the reader to drain
+     * @return the number of characters read
+     * @throws IOException if the reader fails
+     */
+    public static long drain(final Reader reader) throws IOException {
+        final char[] buffer = new char[8192];
+        long total = 0;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * A writer that counts and discards everything written to it.
+     */
+    public static final class DiscardingWriter extends Writer {
+        private long written;
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) {
+            this.written += len;
+        }
+
+        @Override
+        public void write(final int c) {
+            this.written++;
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) {
+            this.written += len;
+        }
+
+        public long written() {
+            return this.written;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
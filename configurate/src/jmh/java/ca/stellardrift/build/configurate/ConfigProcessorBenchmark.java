@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of reading and writing whole documents in each standard format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigProcessorBenchmark {
+
+    @Param({"conf", "json", "yml", "xml"})
+    public String format;
+
+    @Param({"1024", "65536", "1048576", "52428800"})
+    public int size;
+
+    private ConfigProcessor<?, ?> processor;
+    private String document;
+    private ConfigurationNode node;
+
+    @Setup
+    public void setUp() throws ConfigurateException {
+        this.processor = BenchmarkData.format(this.format);
+        this.document = BenchmarkData.document(this.processor, this.size);
+        this.node = this.processor.read(new StringReader(this.document));
+    }
+
+    @Benchmark
+    public ConfigurationNode read() throws ConfigurateException {
+        return this.processor.read(new StringReader(this.document));
+    }
+
+    @Benchmark
+    public long write() throws ConfigurateException {
+        final BenchmarkData.DiscardingWriter writer = new BenchmarkData.DiscardingWriter();
+        this.processor.write(writer, this.node);
+        return writer.written();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.yaml.NodeStyle;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-file setup cost of a configured format, when reading many small files.
+ *
+ * <p>{@link #freshLoader()} builds a new loader from scratch the way every read did
+ * before builders were reused, while {@link #processor()} goes through a configured
+ * {@link ConfigProcessor}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoaderSetupBenchmark {
+
+    private static final String DOCUMENT = "name: widget\ncount: 3\n";
+
+    private ConfigProcessor<YamlConfigurationLoader.Builder, YamlConfigurationLoader> processor;
+
+    @Setup
+    public void setUp() {
+        this.processor = ConfigFormats.YAML.configured(LoaderSetupBenchmark::configure);
+    }
+
+    private static void configure(final YamlConfigurationLoader.Builder builder) {
+        builder.nodeStyle(NodeStyle.BLOCK)
+            .indent(2)
+            .defaultOptions(opts -> opts.shouldCopyDefaults(true));
+    }
+
+    @Benchmark
+    public ConfigurationNode freshLoader() throws ConfigurateException {
+        final YamlConfigurationLoader.Builder builder = YamlConfigurationLoader.builder();
+        configure(builder);
+        return builder.source(() -> new BufferedReader(new StringReader(DOCUMENT)))
+            .build()
+            .load();
+    }
+
+    @Benchmark
+    public ConfigurationNode processor() throws ConfigurateException {
+        return this.processor.read(new StringReader(DOCUMENT));
+    }
+}
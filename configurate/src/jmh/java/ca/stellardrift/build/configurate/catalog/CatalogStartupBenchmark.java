@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start cost of what the settings plugin does in every build: find the
+ * catalog, then read it.
+ *
+ * <p>Every fork is a fresh JVM measured once, so this includes loading and
+ * initializing the format classes the catalog needs. Only the YAML backend
+ * should be loaded.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class CatalogStartupBenchmark {
+
+    private Path gradleDir;
+
+    @Setup
+    public void setUp() throws IOException {
+        // only touches the filesystem, so no catalog classes are loaded yet
+        this.gradleDir = Files.createTempDirectory("catalog-startup");
+        Files.write(this.gradleDir.resolve("libs.versions.yml"), String.join("\n",
+            "metadata:",
+            "  format: { version: \"1.0\" }",
+            "dependencies:",
+            "  gson: com.google.code.gson:gson:2.10.1",
+            "versions:",
+            "  junit: 5.10.0",
+            ""
+        ).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(this.gradleDir.resolve("libs.versions.yml"));
+        Files.delete(this.gradleDir);
+    }
+
+    @Benchmark
+    public void discoverAndRead(final Blackhole hole) throws IOException {
+        final List<PolyglotVersionCatalogPlugin.Candidate> candidates = PolyglotVersionCatalogPlugin.findCatalogs(this.gradleDir);
+        final PolyglotVersionCatalogPlugin.Candidate chosen = candidates.get(0);
+        hole.consume(CatalogFragments.parse(chosen.processor, chosen.file, Files.readAllBytes(chosen.file), false));
+    }
+}
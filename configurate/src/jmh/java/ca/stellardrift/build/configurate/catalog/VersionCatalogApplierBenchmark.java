@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Decoding a large catalog into a {@link CatalogModel}.
+ *
+ * <p>{@link #applier(Blackhole)} is the hand-written decoder used by the
+ * plugin, while {@link #serializerLookup(Blackhole)} resolves every key as
+ * its own node, and every version through the serializer collection, the
+ * way catalogs were read before. Both read the dependencies, plugins and
+ * versions of the same catalog into an equivalent model.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionCatalogApplierBenchmark {
+    private static final Pattern COLON = Pattern.compile(":", Pattern.LITERAL);
+
+    @Param({"5000"})
+    public int entries;
+
+    private ConfigurationNode catalog;
+
+    @Setup
+    public void setUp() throws SerializationException {
+        final ConfigurationOptions options = ConfigurationOptions.defaults()
+            .serializers(s -> s.register(GradleVersion.class, GradleVersion.Serializer.INSTANCE));
+        this.catalog = BasicConfigurationNode.root(options);
+        final ConfigurationNode dependencies = this.catalog.node("dependencies");
+        final ConfigurationNode plugins = this.catalog.node("plugins");
+        final ConfigurationNode versions = this.catalog.node("versions");
+        for (int i = 0; i < this.entries; i++) {
+            final String alias = "entry" + i;
+            switch (i % 4) {
+                case 0: // plain notation
+                    dependencies.node(alias).set("com.example:artifact-" + i + ":1." + i);
+                    break;
+                case 1: // module with a version reference
+                    versions.node(alias).set("2." + i + "!!2.0");
+                    dependencies.node(alias, "module").set("com.example:artifact-" + i);
+                    dependencies.node(alias, "version", "ref").set(alias);
+                    break;
+                case 2: // group and name with a rich version
+                    dependencies.node(alias, "group").set("com.example");
+                    dependencies.node(alias, "name").set("artifact-" + i);
+                    dependencies.node(alias, "version", "require").set("[1.0, 2.0)");
+                    dependencies.node(alias, "version", "prefer").set("1." + i);
+                    dependencies.node(alias, "version", "reject").setList(String.class, Arrays.asList("1.0", "1.1"));
+                    break;
+                default: // plugin
+                    plugins.node(alias).set("com.example.plugin-" + i + ":3." + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void applier(final Blackhole hole) throws SerializationException {
+        // the model is package-private, so it can't be returned to generated benchmark code
+        final CatalogModel model = new CatalogModel();
+        new VersionCatalogApplier(model).load(this.catalog);
+        hole.consume(model);
+    }
+
+    @Benchmark
+    public void serializerLookup(final Blackhole hole) throws SerializationException {
+        final CatalogModel model = new CatalogModel();
+        serializerLookupDependencies(model, this.catalog.node(VersionCatalogApplier.DEPENDENCIES));
+        serializerLookupPlugins(model, this.catalog.node(VersionCatalogApplier.PLUGINS));
+        serializerLookupVersions(model, this.catalog.node(VersionCatalogApplier.VERSIONS));
+        hole.consume(model);
+    }
+
+    // The decoder as it was before VersionCatalogApplier walked each alias once,
+    // kept here so both benchmarks build the same model from the same sections
+
+    private static void serializerLookupDependencies(final CatalogModel model, final ConfigurationNode dependencies) throws SerializationException {
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : dependencies.childrenMap().entrySet()) {
+            final String alias = String.valueOf(entry.getKey());
+            final ConfigurationNode dep = entry.getValue();
+            if (dep.isMap()) {
+                final @Nullable String group = dep.node("group").getString();
+                @Nullable String name = dep.node("name").getString();
+                if (name == null && dep.hasChild("artifact")) {
+                    name = dep.node("artifact").getString();
+                }
+                final String moduleInfo = dep.node("module").getString();
+                final @Nullable GradleVersion version = dep.node("version").get(GradleVersion.class);
+                if (group == null || name == null) {
+                    final String[] elements = COLON.split(moduleInfo);
+                    if (elements.length == 3 && version == null) {
+                        model.libraries.put(alias, CatalogModel.Library.notation(moduleInfo));
+                    } else {
+                        model.libraries.put(alias, CatalogModel.Library.coordinates(elements[0], elements[1], version));
+                    }
+                } else {
+                    model.libraries.put(alias, CatalogModel.Library.coordinates(group, name, version));
+                }
+            } else {
+                model.libraries.put(alias, CatalogModel.Library.notation(dep.getString()));
+            }
+        }
+    }
+
+    private static void serializerLookupPlugins(final CatalogModel model, final ConfigurationNode plugins) throws SerializationException {
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : plugins.childrenMap().entrySet()) {
+            final String alias = String.valueOf(entry.getKey());
+            if (entry.getValue().isMap()) {
+                final String id = entry.getValue().node("id").require(String.class);
+                final @Nullable GradleVersion version = entry.getValue().node("version").get(GradleVersion.class);
+                model.plugins.put(alias, CatalogModel.Plugin.rich(id, version));
+            } else {
+                final String[] split = COLON.split(entry.getValue().getString(), -1);
+                if (split.length == 1) {
+                    model.plugins.put(alias, CatalogModel.Plugin.notation(split[0], null));
+                } else if (split.length == 2) {
+                    model.plugins.put(alias, CatalogModel.Plugin.notation(split[0], split[1]));
+                }
+            }
+        }
+    }
+
+    private static void serializerLookupVersions(final CatalogModel model, final ConfigurationNode versions) throws SerializationException {
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : versions.childrenMap().entrySet()) {
+            model.versions.put(String.valueOf(entry.getKey()), entry.getValue().get(GradleVersion.class));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.transformations;
+
+import ca.stellardrift.build.configurate.BenchmarkData;
+import ca.stellardrift.build.configurate.ConfigProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.ConfigurateException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the validation filter, as used by {@code validate}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigurateValidationReaderBenchmark {
+
+    @Param({"conf", "json", "yml", "xml"})
+    public String format;
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private ConfigProcessor<?, ?> processor;
+    private String document;
+
+    @Setup
+    public void setUp() throws ConfigurateException {
+        this.processor = BenchmarkData.format(this.format);
+        this.document = BenchmarkData.document(this.processor, this.size);
+    }
+
+    @Benchmark
+    public long validate() throws IOException {
+        try (final ConfigurateValidationReader reader = new ConfigurateValidationReader(new StringReader(this.document))) {
+            reader.format(this.processor);
+            return BenchmarkData.drain(reader);
+        }
+    }
+}
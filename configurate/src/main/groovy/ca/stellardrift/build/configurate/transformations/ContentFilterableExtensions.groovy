@@ -15,6 +15,7 @@
  */
 package ca.stellardrift.build.configurate.transformations
 
+import ca.stellardrift.build.configurate.ConfigFormatSpec
 import ca.stellardrift.build.configurate.ConfigProcessor
 import ca.stellardrift.build.configurate.ConfigSource
 import ca.stellardrift.build.configurate.ConfigTarget
@@ -44,6 +45,9 @@ class ContentFilterableExtensions {
     /**
      * Convert the format of files within {@code self}.
      *
+     * <p>To be compatible with the configuration cache, formats must be
+     * standard formats or {@link ConfigFormatSpec}s.</p>
+     *
      * @param self receiver
      * @param source format of the input file
      * @param target format of the output file
@@ -64,6 +68,9 @@ class ContentFilterableExtensions {
     /**
      * Perform a transformation on the deserialized node for a configuration.
      *
+     * <p>If the transformer makes no changes to the node, the file is passed
+     * through as it was read.</p>
+     *
      * @param self receiver
      * @param configType for the type of a configuration file
      * @param transformer the action to perform on each node
@@ -80,4 +87,26 @@ class ContentFilterableExtensions {
         ], ConfigurateFilterReader.class)
     }
 
+    /**
+     * Perform a transformation on the deserialized node for a configuration.
+     *
+     * <p>If the transformer makes no changes to the node, the file is passed
+     * through as it was read.</p>
+     *
+     * @param self receiver
+     * @param configType a configuration cache-compatible specification for the type of a configuration file
+     * @param transformer the action to perform on each node
+     */
+    static void transform(final ContentFilterable self, final ConfigFormatSpec configType,
+                          final @DelegatesTo(ConfigurationNode) Closure transformer) {
+        self.filter([
+                (ConfigurateFilterReader.PARAM_SOURCE)     : configType,
+                (ConfigurateFilterReader.PARAM_DEST)       : configType,
+                (ConfigurateFilterReader.PARAM_TRANSFORMER): { it ->
+                    transformer.delegate = it
+                    transformer()
+                }
+        ], ConfigurateFilterReader.class)
+    }
+
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Converts many files from one format to another.
+ *
+ * <p>Each worker thread reuses a single set of {@link ChannelBuffers} for
+ * every file it converts, and loader builders are reused through the
+ * {@link ConfigProcessor}'s builder pool.</p>
+ */
+final class BatchConverter {
+    private static final AtomicInteger POOL_ID = new AtomicInteger();
+
+    private final ConfigSource source;
+    private final ConfigTarget target;
+    private final int parallelism;
+    private final ThreadLocal<ChannelBuffers> buffers = ThreadLocal.withInitial(ChannelBuffers::new);
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    BatchConverter(final ConfigSource source, final ConfigTarget target, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, but was " + parallelism);
+        }
+        this.source = requireNonNull(source, "source");
+        this.target = requireNonNull(target, "target");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Convert every input file into the output directory.
+     *
+     * <p>Output files keep the name of their input file, with the extension
+     * replaced by the target format's extension when the target is a
+     * standard format.</p>
+     *
+     * @param inputs the files to convert
+     * @param outputDirectory the directory to write converted files to
+     * @return statistics for the conversion
+     * @throws IOException if any file could not be converted
+     */
+    ConversionStatistics convert(final Iterable<Path> inputs, final Path outputDirectory) throws IOException {
+        final long start = System.nanoTime();
+        final Map<Path, Path> outputs = this.outputs(inputs, outputDirectory);
+        if (outputs.isEmpty()) {
+            return new ConversionStatistics(0, 0, 0, Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        final int threads = Math.min(this.parallelism, outputs.size());
+        final int poolId = POOL_ID.getAndIncrement();
+        final AtomicInteger threadId = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            final Thread thread = new Thread(task, "configurate-convert-" + poolId + "-" + threadId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<?>> results = new ArrayList<>(outputs.size());
+            final List<Path> inputOrder = new ArrayList<>(outputs.size());
+            for (final Map.Entry<Path, Path> file : outputs.entrySet()) {
+                inputOrder.add(file.getKey());
+                results.add(executor.submit(() -> {
+                    this.convert(file.getKey(), file.getValue());
+                    return null;
+                }));
+            }
+
+            @Nullable IOException failure = null;
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (final ExecutionException ex) {
+                    final IOException error = new IOException("Failed to convert " + inputOrder.get(i), ex.getCause());
+                    if (failure == null) {
+                        failure = error;
+                    } else {
+                        failure.addSuppressed(error);
+                    }
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while converting files", ex);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new ConversionStatistics(
+            outputs.size(),
+            this.bytesRead.sum(),
+            this.bytesWritten.sum(),
+            Duration.ofNanos(System.nanoTime() - start)
+        );
+    }
+
+    private void convert(final Path input, final Path output) throws IOException {
+        final ChannelBuffers buffers = this.buffers.get();
+        this.bytesRead.add(buffers.read(input));
+        final ConfigurationNode node = this.source.read(buffers.reader());
+        this.target.write(buffers.writer(), node);
+        this.bytesWritten.add(buffers.write(output));
+    }
+
+    private Map<Path, Path> outputs(final Iterable<Path> inputs, final Path outputDirectory) {
+        final @Nullable String extension = extension(this.target);
+        final Map<Path, Path> outputs = new LinkedHashMap<>();
+        final Map<Path, Path> sources = new HashMap<>();
+        for (final Path input : inputs) {
+            final Path output = outputDirectory.resolve(outputName(input, extension));
+            final @Nullable Path existing = sources.putIfAbsent(output, input);
+            if (existing != null && !existing.equals(input)) {
+                throw new IllegalArgumentException("Both " + existing + " and " + input + " would be converted to " + output);
+            }
+            outputs.put(input, output);
+        }
+        return outputs;
+    }
+
+    private static @Nullable String extension(final ConfigTarget target) {
+        if (target instanceof ConfigFormatSpec) {
+            return ((ConfigFormatSpec) target).format();
+        } else if (target instanceof ConfigProcessor<?, ?>) {
+            final @Nullable ConfigFormatSpec spec = ((ConfigProcessor<?, ?>) target).spec();
+            return spec == null ? null : spec.format();
+        }
+        return null;
+    }
+
+    private static String outputName(final Path input, final @Nullable String extension) {
+        final String name = input.getFileName().toString();
+        if (extension == null) {
+            return name;
+        }
+        final int dot = name.lastIndexOf('.');
+        return (dot == -1 ? name : name.substring(0, dot)) + '.' + extension;
+    }
+}
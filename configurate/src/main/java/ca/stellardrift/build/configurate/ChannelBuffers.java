@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Reusable buffers for reading and writing UTF-8 files through channels.
+ *
+ * <p>One set of buffers holds the text of a single input and a single output
+ * at a time, and must only be used by one thread. Sets can either be owned by
+ * a single worker, or borrowed from a small shared pool.</p>
+ */
+final class ChannelBuffers {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED_CHARS = 16 * 1024 * 1024;
+    private static final Queue<ChannelBuffers> POOL = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final Output output = new Output();
+    private CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * Take a set of buffers from the shared pool, or create a new one.
+     *
+     * <p>Buffers must be {@link #release() released} once the caller is
+     * done with them.</p>
+     *
+     * @return a set of buffers
+     */
+    static ChannelBuffers acquire() {
+        final @Nullable ChannelBuffers pooled = POOL.poll();
+        return pooled == null ? new ChannelBuffers() : pooled;
+    }
+
+    /**
+     * Return these buffers to the shared pool.
+     *
+     * <p>Buffers that have grown to hold an unusually large file are
+     * discarded instead, so the pool does not pin their memory.</p>
+     */
+    void release() {
+        if (this.chars.capacity() <= MAX_POOLED_CHARS && this.output.capacity() <= MAX_POOLED_CHARS) {
+            POOL.offer(this);
+        }
+    }
+
+    /**
+     * Map a file into memory.
+     *
+     * <p>The mapping stays valid after the file is closed, and is released
+     * once the returned buffer is garbage collected.</p>
+     *
+     * @param file the file to map
+     * @return a read-only buffer with the file's contents
+     * @throws IOException if the file could not be mapped
+     */
+    static ByteBuffer map(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + file + " is too large to read, at " + size + " bytes");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Read and decode a file, replacing any previously read text.
+     *
+     * @param file the file to read
+     * @return the number of bytes read
+     * @throws IOException if the file could not be read, or is not valid UTF-8
+     */
+    long read(final Path file) throws IOException {
+        this.decoder.reset();
+        this.bytes.clear();
+        this.chars.clear();
+        long total = 0;
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int read;
+            do {
+                read = channel.read(this.bytes);
+                if (read > 0) {
+                    total += read;
+                }
+                this.bytes.flip();
+                this.decode(this.bytes, read == -1);
+                this.bytes.compact();
+            } while (read != -1);
+        }
+        this.finishDecoding();
+        return total;
+    }
+
+    /**
+     * Decode UTF-8 content, replacing any previously read text.
+     *
+     * @param contents the complete content to decode, which is not consumed
+     * @throws IOException if the content is not valid UTF-8
+     */
+    void decode(final ByteBuffer contents) throws IOException {
+        this.decoder.reset();
+        // UTF-8 never decodes to more chars than it has bytes
+        if (this.chars.capacity() < contents.remaining()) {
+            this.chars = CharBuffer.allocate(contents.remaining());
+        } else {
+            this.chars.clear();
+        }
+        this.decode(contents.duplicate(), true);
+        this.finishDecoding();
+    }
+
+    /**
+     * Get the text of the last file read.
+     *
+     * @return a read-only view of the text
+     */
+    CharBuffer text() {
+        return this.chars.asReadOnlyBuffer();
+    }
+
+    private void decode(final ByteBuffer input, final boolean endOfInput) throws IOException {
+        while (true) {
+            final CoderResult result = this.decoder.decode(input, this.chars, endOfInput);
+            if (result.isOverflow()) {
+                this.grow();
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void finishDecoding() {
+        while (this.decoder.flush(this.chars).isOverflow()) {
+            this.grow();
+        }
+        this.chars.flip();
+    }
+
+    /**
+     * Get a reader over the text of the last file read.
+     *
+     * @return a reader
+     */
+    Reader reader() {
+        return new CharArrayReader(this.chars.array(), 0, this.chars.limit());
+    }
+
+    /**
+     * Get an empty writer to collect output text in.
+     *
+     * @return the output writer
+     */
+    Writer writer() {
+        this.output.reset();
+        return this.output;
+    }
+
+    /**
+     * Encode the contents of the {@link #writer() output writer} into a file.
+     *
+     * <p>Any existing file will be replaced.</p>
+     *
+     * @param file the file to write to
+     * @return the number of bytes written
+     * @throws IOException if the file could not be written
+     */
+    long write(final Path file) throws IOException {
+        final CharBuffer text = this.output.contents();
+        this.encoder.reset();
+        this.bytes.clear();
+        long total = 0;
+        try (final FileChannel channel = FileChannel.open(
+            file,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            CoderResult result;
+            do {
+                result = this.encoder.encode(text, this.bytes, true);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                total += this.drain(channel);
+            } while (result.isOverflow());
+            do {
+                result = this.encoder.flush(this.bytes);
+                total += this.drain(channel);
+            } while (result.isOverflow());
+        }
+        return total;
+    }
+
+    private long drain(final FileChannel channel) throws IOException {
+        long written = 0;
+        this.bytes.flip();
+        while (this.bytes.hasRemaining()) {
+            written += channel.write(this.bytes);
+        }
+        this.bytes.clear();
+        return written;
+    }
+
+    private void grow() {
+        final CharBuffer grown = CharBuffer.allocate(this.chars.capacity() * 2);
+        this.chars.flip();
+        grown.put(this.chars);
+        this.chars = grown;
+    }
+
+    /**
+     * A writer whose contents can be viewed without copying.
+     */
+    private static final class Output extends CharArrayWriter {
+        Output() {
+            super(BUFFER_SIZE);
+        }
+
+        CharBuffer contents() {
+            return CharBuffer.wrap(this.buf, 0, this.count);
+        }
+
+        // reset() keeps the array, so this is the most the writer has ever held
+        int capacity() {
+            return this.buf.length;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * A serializable description of a configuration format.
+ *
+ * <p>A specification is made of a format id, which is any extension known to
+ * {@link ConfigFormats#byExtension(String)}, and a set of builder options. The
+ * format is only resolved through {@link ConfigFormats#resolve(ConfigFormatSpec)}
+ * when it is first used, so specifications can be stored in task state that is
+ * written to Gradle's configuration cache.</p>
+ *
+ * <p>Known options are:</p>
+ * <dl>
+ *     <dt>{@code header-mode}</dt><dd>any format, a {@link org.spongepowered.configurate.loader.HeaderMode}</dd>
+ *     <dt>{@code indent}</dt><dd>json, yaml, and xml, the number of spaces to indent by</dd>
+ *     <dt>{@code lenient}</dt><dd>json, whether to accept non-standard syntax</dd>
+ *     <dt>{@code node-style}</dt><dd>yaml, a {@link org.spongepowered.configurate.yaml.NodeStyle}</dd>
+ *     <dt>{@code pretty-printing}, {@code emit-comments}, {@code emit-json-compatible}</dt><dd>hocon, rendering options</dd>
+ *     <dt>{@code default-tag-name}</dt><dd>xml, the tag name used for list elements</dd>
+ * </dl>
+ */
+public final class ConfigFormatSpec implements ConfigSource, ConfigTarget, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String format;
+    private final SortedMap<String, String> options;
+    private transient volatile @Nullable ConfigProcessor<?, ?> resolved;
+
+    /**
+     * Create a specification for the format registered for {@code format}, with no extra options.
+     *
+     * @param format the format id
+     * @return a new specification
+     */
+    public static ConfigFormatSpec of(final String format) {
+        return new ConfigFormatSpec(requireNonNull(format, "format").toLowerCase(Locale.ROOT), Collections.emptySortedMap());
+    }
+
+    private ConfigFormatSpec(final String format, final SortedMap<String, String> options) {
+        this.format = format;
+        this.options = options;
+    }
+
+    /**
+     * Create a derived specification with an additional builder option.
+     *
+     * @param key the option key
+     * @param value the option value, converted to a string
+     * @return a derived specification
+     */
+    public ConfigFormatSpec option(final String key, final Object value) {
+        requireNonNull(key, "key");
+        requireNonNull(value, "value");
+        final SortedMap<String, String> options = new TreeMap<>(this.options);
+        options.put(key, String.valueOf(value));
+        return new ConfigFormatSpec(this.format, Collections.unmodifiableSortedMap(options));
+    }
+
+    /**
+     * Get the id of the format described by this specification.
+     *
+     * @return the format id
+     */
+    public String format() {
+        return this.format;
+    }
+
+    /**
+     * Get the builder options applied to this format.
+     *
+     * @return an unmodifiable view of the options
+     */
+    public Map<String, String> options() {
+        return this.options;
+    }
+
+    /**
+     * Get the format described by this specification.
+     *
+     * @return the resolved format
+     * @throws IllegalArgumentException if the format is not known, or an option is invalid
+     */
+    public ConfigProcessor<?, ?> resolve() {
+        @Nullable ConfigProcessor<?, ?> resolved = this.resolved;
+        if (resolved == null) {
+            this.resolved = resolved = ConfigFormats.resolve(this);
+        }
+        return resolved;
+    }
+
+    @Override
+    public ConfigurationNode read(final Reader reader) throws ConfigurateException {
+        return this.resolve().read(reader);
+    }
+
+    @Override
+    public ConfigurationNode read(final Path file) throws ConfigurateException {
+        return this.resolve().read(file);
+    }
+
+    @Override
+    public ConfigurationNode read(final Reader reader, final UnaryOperator<ConfigurationOptions> optionsConfiguration) throws ConfigurateException {
+        return this.resolve().read(reader, optionsConfiguration);
+    }
+
+    @Override
+    public void write(final Writer destination, final ConfigurationNode node) throws ConfigurateException {
+        this.resolve().write(destination, node);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ConfigFormatSpec)) {
+            return false;
+        }
+        final ConfigFormatSpec that = (ConfigFormatSpec) other;
+        return this.format.equals(that.format)
+            && this.options.equals(that.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.format.hashCode() + this.options.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigFormatSpec{format=" + this.format + ", options=" + this.options + "}";
+    }
+}
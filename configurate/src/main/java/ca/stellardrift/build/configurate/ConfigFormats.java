@@ -15,52 +15,301 @@
  */
 package ca.stellardrift.build.configurate;
 
+import static java.util.Objects.requireNonNull;
+
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.gson.GsonConfigurationLoader;
 import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
 import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+import org.spongepowered.configurate.loader.HeaderMode;
 import org.spongepowered.configurate.xml.XmlConfigurationLoader;
 import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 /**
  * Standard formats for configuration.
+ *
+ * <p>Each format's Configurate loader is only loaded once the format is
+ * first used to read or write, so looking formats up by extension is cheap.</p>
+ *
+ * <p>All methods are safe to call from any thread, including while projects
+ * are configured in parallel. The known formats are held in an immutable
+ * snapshot that is replaced whenever a format is registered, so lookups
+ * never lock, and always see either all or none of a registration.</p>
  */
 public final class ConfigFormats {
 
-    private static final Map<String, ConfigProcessor<?, ?>> BY_EXTENSION = new HashMap<>();
-    private static final Set<ConfigProcessor<?, ?>> PROCESSORS = new HashSet<>();
+    // Replaced as a whole on every registration, so readers never need to lock
+    private static final AtomicReference<Registry> REGISTRY = new AtomicReference<>(Registry.EMPTY);
 
-    public static final ConfigProcessor<HoconConfigurationLoader.Builder, HoconConfigurationLoader> HOCON = register(HoconConfigurationLoader::builder, "conf", "hocon");
-    public static final ConfigProcessor<GsonConfigurationLoader.Builder, GsonConfigurationLoader> JSON = register(GsonConfigurationLoader::builder, "json");
-    public static final ConfigProcessor<YamlConfigurationLoader.Builder, YamlConfigurationLoader> YAML = register(YamlConfigurationLoader::builder, "yml", "yaml");
-    public static final ConfigProcessor<XmlConfigurationLoader.Builder, XmlConfigurationLoader> XML = register(XmlConfigurationLoader::builder, "xml");
+    // Backends are created by lambdas rather than constructor references, so
+    // that nothing but FormatBackend is resolved until a backend is needed.
+    public static final ConfigProcessor<HoconConfigurationLoader.Builder, HoconConfigurationLoader> HOCON = registerBackend(() -> new FormatBackend.Hocon(), "conf", "hocon");
+    public static final ConfigProcessor<GsonConfigurationLoader.Builder, GsonConfigurationLoader> JSON = registerBackend(() -> new FormatBackend.Json(), "json");
+    public static final ConfigProcessor<YamlConfigurationLoader.Builder, YamlConfigurationLoader> YAML = registerBackend(() -> new FormatBackend.Yaml(), "yml", "yaml");
+    public static final ConfigProcessor<XmlConfigurationLoader.Builder, XmlConfigurationLoader> XML = registerBackend(() -> new FormatBackend.Xml(), "xml");
+    public static final ConfigProcessor<TomlConfigurationLoader.Builder, TomlConfigurationLoader> TOML = registerBackend(() -> new FormatBackend.Toml(), "toml");
+
+    /**
+     * JSON without any whitespace between values.
+     *
+     * <p>This is the most compact text format available, and the quickest to
+     * write and read back, which suits generated files that are not read by
+     * people.</p>
+     */
+    public static final ConfigFormatSpec COMPACT_JSON = ConfigFormatSpec.of("json").option("indent", 0);
 
     private ConfigFormats() {
     }
 
     private static <B extends AbstractConfigurationLoader.Builder<B, L>,
+            L extends AbstractConfigurationLoader<?>> ConfigProcessor<B, L> registerBackend(final Supplier<FormatBackend<B, L>> backend,
+                                                                                            final String... extensions) {
+        return published(new ConfigProcessor<>(new LazyBackend<>(backend), extensions));
+    }
+
+    /**
+     * Register an additional format.
+     *
+     * <p>The format will be returned by {@link #byExtension(String)} for each
+     * of its extensions, and can be described by a {@link ConfigFormatSpec}
+     * naming its first extension. The only option supported for
+     * specifications of registered formats is {@code header-mode}.</p>
+     *
+     * <p>Registration is safe to perform from any thread. Formats cannot be
+     * unregistered, and a registered extension cannot be replaced.
+     * Extensions are matched without regard to case.</p>
+     *
+     * <p>Formats are known for as long as this class is loaded, which in a
+     * Gradle daemon may be longer than a single build. Registering the same
+     * extensions again with a builder of the same type returns the format
+     * that was first registered, so build logic that registers a format can
+     * safely run more than once, or in more than one project. Since build
+     * logic does not run at all when the configuration cache is reused,
+     * formats should be registered by code that also runs before they are
+     * used at execution time, such as a static initializer in the class
+     * that uses them.</p>
+     *
+     * @param builder a factory for new loader builders for this format
+     * @param extensions file extensions for this format, without the leading dot
+     * @param <B> builder type
+     * @param <L> loader type
+     * @return the new format, or the format already registered with the same extensions
+     * @throws IllegalArgumentException if no extensions are given, or an extension is already registered for another format
+     */
+    public static <B extends AbstractConfigurationLoader.Builder<B, L>,
             L extends AbstractConfigurationLoader<?>> ConfigProcessor<B, L> register(final Supplier<B> builder,
-                                                                                     String... extensions) {
-        final ConfigProcessor<B, L> ret = new ConfigProcessor<>(builder, extensions);
-        PROCESSORS.add(ret);
-        for (final String ext : extensions) {
-            BY_EXTENSION.put(ext, ret);
+                                                                                     final String... extensions) {
+        requireNonNull(builder, "builder");
+        if (extensions.length == 0) {
+            throw new IllegalArgumentException("A format must have at least one extension");
         }
-        return ret;
+        return published(new ConfigProcessor<>(builder, extensions));
+    }
+
+    @SuppressWarnings("unchecked") // a format is only reused when it creates builders of the same type
+    private static <B extends AbstractConfigurationLoader.Builder<B, L>,
+            L extends AbstractConfigurationLoader<?>> ConfigProcessor<B, L> published(final ConfigProcessor<B, L> processor) {
+        return (ConfigProcessor<B, L>) publish(REGISTRY, processor);
+    }
+
+    /**
+     * Add a format to a registry, unless an equivalent format is already present.
+     *
+     * @param registry the registry to update
+     * @param processor the format to add
+     * @return the format that is registered once this method returns
+     */
+    static ConfigProcessor<?, ?> publish(final AtomicReference<Registry> registry, final ConfigProcessor<?, ?> processor) {
+        Registry current;
+        Registry next;
+        do {
+            current = registry.get();
+            final @Nullable ConfigProcessor<?, ?> existing = current.equivalent(processor);
+            if (existing != null) {
+                return existing;
+            }
+            next = current.with(processor);
+        } while (!registry.compareAndSet(current, next));
+        return processor;
     }
 
+    /**
+     * Get all standard and registered formats.
+     *
+     * <p>Formats are returned in a stable order of preference, with standard
+     * formats first, then registered formats in the order they were
+     * registered.</p>
+     *
+     * <p>The returned set is an immutable snapshot, and does not include
+     * formats registered after this method returns.</p>
+     *
+     * @return the known formats
+     */
     public static Set<ConfigProcessor<?, ?>> all() {
-        return Collections.unmodifiableSet(PROCESSORS);
+        return REGISTRY.get().processors;
     }
 
+    /**
+     * Get the format for a file extension.
+     *
+     * <p>Extensions are matched without regard to case.</p>
+     *
+     * @param extension the extension, without the leading dot
+     * @return the format, or {@code null} if none is registered for the extension
+     */
     public static @Nullable ConfigProcessor<?, ?> byExtension(final String extension) {
-        return BY_EXTENSION.get(extension);
+        final Map<String, ConfigProcessor<?, ?>> byExtension = REGISTRY.get().byExtension;
+        final @Nullable ConfigProcessor<?, ?> exact = byExtension.get(extension);
+        return exact != null ? exact : byExtension.get(extension.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Resolve the format described by a specification.
+     *
+     * @param spec the format specification
+     * @return a format with all of the specification's options applied
+     * @throws IllegalArgumentException if the format is not known, or an option is not valid for the format
+     */
+    public static ConfigProcessor<?, ?> resolve(final ConfigFormatSpec spec) {
+        final @Nullable ConfigProcessor<?, ?> base = byExtension(spec.format());
+        if (base == null) {
+            throw new IllegalArgumentException("Unknown configuration format '" + spec.format() + "'");
+        }
+        if (spec.options().isEmpty()) {
+            return base;
+        }
+        return configured(base, spec.options()).withSpec(spec);
+    }
+
+    private static <B extends AbstractConfigurationLoader.Builder<B, L>, L extends AbstractConfigurationLoader<?>> ConfigProcessor<B, L> configured(
+        final ConfigProcessor<B, L> base,
+        final Map<String, String> options
+    ) {
+        // validate options up front, rather than when the format is first used
+        final B probe = base.newBuilder();
+        for (final Map.Entry<String, String> option : options.entrySet()) {
+            applyOption(base, probe, option.getKey(), option.getValue());
+        }
+
+        return base.configured(builder -> {
+            for (final Map.Entry<String, String> option : options.entrySet()) {
+                applyOption(base, builder, option.getKey(), option.getValue());
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <B extends AbstractConfigurationLoader.Builder<B, L>, L extends AbstractConfigurationLoader<?>> void applyOption(
+        final ConfigProcessor<B, L> format,
+        final B builder,
+        final String key,
+        final String value
+    ) {
+        if (key.equals("header-mode")) {
+            builder.headerMode(HeaderMode.valueOf(value.toUpperCase(Locale.ROOT)));
+        } else if (format.builderMaker() instanceof LazyBackend<?, ?>) {
+            ((LazyBackend<B, L>) format.builderMaker()).backend().applyOption(builder, key, value);
+        } else {
+            throw FormatBackend.unknownOption(key, String.join("/", format.extensions()));
+        }
+    }
+
+    /**
+     * Creates builders through a backend that is only created on first use.
+     */
+    static final class LazyBackend<B extends AbstractConfigurationLoader.Builder<B, L>, L extends AbstractConfigurationLoader<?>> implements Supplier<B> {
+        private final Supplier<FormatBackend<B, L>> factory;
+        private volatile @Nullable FormatBackend<B, L> backend;
+
+        LazyBackend(final Supplier<FormatBackend<B, L>> factory) {
+            this.factory = factory;
+        }
+
+        FormatBackend<B, L> backend() {
+            FormatBackend<B, L> backend = this.backend;
+            if (backend == null) {
+                synchronized (this) {
+                    backend = this.backend;
+                    if (backend == null) {
+                        this.backend = backend = this.factory.get();
+                    }
+                }
+            }
+            return backend;
+        }
+
+        @Override
+        public B get() {
+            return this.backend().newBuilder();
+        }
+    }
+
+    /**
+     * An immutable snapshot of every known format.
+     */
+    static final class Registry {
+        static final Registry EMPTY = new Registry(Collections.emptyMap(), Collections.emptySet());
+
+        final Map<String, ConfigProcessor<?, ?>> byExtension;
+        // in registration order, which is also the order of preference between formats
+        final Set<ConfigProcessor<?, ?>> processors;
+
+        private Registry(final Map<String, ConfigProcessor<?, ?>> byExtension, final Set<ConfigProcessor<?, ?>> processors) {
+            this.byExtension = byExtension;
+            this.processors = processors;
+        }
+
+        /**
+         * Find a registered format with the same extensions as {@code processor},
+         * that creates builders of the same type.
+         *
+         * <p>Standard formats are never equivalent to a registered one, so
+         * their backends are not loaded to compare builders.</p>
+         */
+        @Nullable ConfigProcessor<?, ?> equivalent(final ConfigProcessor<?, ?> processor) {
+            final @Nullable ConfigProcessor<?, ?> existing = this.byExtension.get(processor.extensions().iterator().next().toLowerCase(Locale.ROOT));
+            if (existing == null
+                || existing.builderMaker() instanceof LazyBackend<?, ?>
+                || !lowerCase(existing.extensions()).equals(lowerCase(processor.extensions()))) {
+                return null;
+            }
+            final Supplier<?> existingBuilder = existing.builderMaker();
+            final Supplier<?> builder = processor.builderMaker();
+            // the same supplier, such as a method reference evaluated again, needs no builder to compare
+            if (existingBuilder == builder || existingBuilder.get().getClass() == builder.get().getClass()) {
+                return existing;
+            }
+            return null;
+        }
+
+        private static Set<String> lowerCase(final Set<String> extensions) {
+            final Set<String> lowered = new HashSet<>(extensions.size());
+            for (final String extension : extensions) {
+                lowered.add(extension.toLowerCase(Locale.ROOT));
+            }
+            return lowered;
+        }
+
+        Registry with(final ConfigProcessor<?, ?> processor) {
+            final Map<String, ConfigProcessor<?, ?>> byExtension = new HashMap<>(this.byExtension);
+            for (final String extension : processor.extensions()) {
+                if (byExtension.putIfAbsent(extension.toLowerCase(Locale.ROOT), processor) != null) {
+                    throw new IllegalArgumentException("A format is already registered for the extension '" + extension + "'");
+                }
+            }
+            final Set<ConfigProcessor<?, ?>> processors = new LinkedHashSet<>(this.processors);
+            processors.add(processor);
+            return new Registry(Collections.unmodifiableMap(byExtension), Collections.unmodifiableSet(processors));
+        }
     }
 }
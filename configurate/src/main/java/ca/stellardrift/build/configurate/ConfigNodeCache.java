@@ -0,0 +1,300 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size-bounded cache of parsed configuration nodes.
+ *
+ * <p>Entries are keyed on the format that parsed them and a hash of the
+ * parsed content. The cache only ever hands out copies of its nodes, so
+ * callers are free to modify what they receive.</p>
+ *
+ * <p>A cache is safe to share between threads.</p>
+ *
+ * @see ConfigProcessor#cached(ConfigNodeCache)
+ */
+public final class ConfigNodeCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final int maximumSize;
+    private final Map<Key, ConfigurationNode> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create a new cache holding at most {@code maximumSize} nodes.
+     *
+     * @param maximumSize the maximum number of nodes to retain
+     * @return a new cache
+     */
+    public static ConfigNodeCache create(final int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1, but was " + maximumSize);
+        }
+        return new ConfigNodeCache(maximumSize);
+    }
+
+    private ConfigNodeCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<Key, ConfigurationNode>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, ConfigurationNode> eldest) {
+                return this.size() > ConfigNodeCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Get a copy of the node stored for {@code key}, if any.
+     *
+     * @param key the key to look up
+     * @return a copy of the cached node, or {@code null} on a miss
+     */
+    @Nullable ConfigurationNode get(final Key key) {
+        final @Nullable ConfigurationNode existing;
+        synchronized (this.entries) {
+            existing = this.entries.get(key);
+        }
+        if (existing == null) {
+            this.misses.incrementAndGet();
+            return null;
+        }
+        this.hits.incrementAndGet();
+        return existing.copy();
+    }
+
+    /**
+     * Store a copy of {@code node} for {@code key}.
+     *
+     * @param key the key to store under
+     * @param node the freshly parsed node
+     */
+    void put(final Key key, final ConfigurationNode node) {
+        final ConfigurationNode copy = node.copy();
+        synchronized (this.entries) {
+            this.entries.put(key, copy);
+        }
+    }
+
+    /**
+     * Get the maximum number of nodes held by this cache.
+     *
+     * @return the maximum size
+     */
+    public int maximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Get the number of nodes currently held by this cache.
+     *
+     * @return the current size
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Get the number of lookups that were served from this cache.
+     *
+     * @return the hit count
+     */
+    public long hits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Get the number of lookups that required a fresh parse.
+     *
+     * @return the miss count
+     */
+    public long misses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Remove all nodes from this cache.
+     *
+     * <p>Hit and miss counts are retained.</p>
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigNodeCache{size=" + this.size()
+            + ", maximumSize=" + this.maximumSize
+            + ", hits=" + this.hits()
+            + ", misses=" + this.misses() + "}";
+    }
+
+    /**
+     * Compute the key for content parsed by a certain format.
+     *
+     * @param format an object identifying the format and its options
+     * @param content the content to parse
+     * @return a new key
+     */
+    static Key key(final Object format, final char[] content) {
+        return key(format, CharBuffer.wrap(content));
+    }
+
+    /**
+     * Compute the key for content parsed by a certain format.
+     *
+     * @param format an object identifying the format and its options
+     * @param content the content to parse, which is not consumed
+     * @return a new key
+     */
+    static Key key(final Object format, final CharBuffer content) {
+        final KeyBuilder builder = new KeyBuilder();
+        builder.update(content.duplicate());
+        return builder.build(format);
+    }
+
+    /**
+     * Compute the key for UTF-8 encoded content parsed by a certain format.
+     *
+     * <p>Valid UTF-8 input produces the same key as its decoded text, so
+     * files can be looked up before they are decoded.</p>
+     *
+     * @param format an object identifying the format and its options
+     * @param content the encoded content to parse, which is not consumed
+     * @return a new key
+     */
+    static Key key(final Object format, final ByteBuffer content) {
+        final MessageDigest digest = sha256();
+        digest.update(content.duplicate());
+        return new Key(format, digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every JVM", ex);
+        }
+    }
+
+    /**
+     * Computes a key from text as it arrives, encoding it to UTF-8 a small
+     * chunk at a time rather than all at once.
+     *
+     * <p>Text fed in pieces produces the same key as the same text passed to
+     * {@link #key(Object, CharBuffer)} at once.</p>
+     */
+    static final class KeyBuilder {
+        private final MessageDigest digest = sha256();
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer bytes = ByteBuffer.allocate(4096);
+        // a high surrogate at the end of one piece, waiting for its pair
+        private final CharBuffer pending = CharBuffer.allocate(2);
+
+        void update(final char[] chars, final int offset, final int length) {
+            this.update(CharBuffer.wrap(chars, offset, length));
+        }
+
+        void update(final CharBuffer chars) {
+            while (this.pending.position() > 0 && chars.hasRemaining()) {
+                this.pending.put(chars.get());
+                this.pending.flip();
+                this.encode(this.pending, false);
+                this.pending.compact();
+            }
+            this.encode(chars, false);
+            if (chars.hasRemaining()) {
+                this.pending.put(chars);
+            }
+        }
+
+        Key build(final Object format) {
+            this.pending.flip();
+            this.encode(this.pending, true);
+            while (this.encoder.flush(this.bytes).isOverflow()) {
+                this.drain();
+            }
+            this.drain();
+            return new Key(format, this.digest.digest());
+        }
+
+        private void encode(final CharBuffer chars, final boolean endOfInput) {
+            while (this.encoder.encode(chars, this.bytes, endOfInput).isOverflow()) {
+                this.drain();
+            }
+            this.drain();
+        }
+
+        private void drain() {
+            this.bytes.flip();
+            this.digest.update(this.bytes);
+            this.bytes.clear();
+        }
+    }
+
+    static final class Key {
+        private final Object format;
+        private final byte[] hash;
+        private final int hashCode;
+
+        Key(final Object format, final byte[] hash) {
+            this.format = requireNonNull(format, "format");
+            this.hash = hash;
+            this.hashCode = 31 * format.hashCode() + Arrays.hashCode(hash);
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) other;
+            return this.format.equals(that.format)
+                && Arrays.equals(this.hash, that.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
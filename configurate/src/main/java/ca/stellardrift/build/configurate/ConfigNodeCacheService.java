@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.api.services.BuildServiceRegistry;
+
+/**
+ * A build service holding a {@link ConfigNodeCache} shared by every project in a build.
+ *
+ * <p>Use with {@link ConfigProcessor#cached(ConfigNodeCache)}:</p>
+ *
+ * <pre>{@code
+ * val nodeCache = ConfigNodeCacheService.registerIfAbsent(gradle.sharedServices)
+ * val json = ConfigFormats.JSON.cached(nodeCache.get().cache())
+ * }</pre>
+ */
+public abstract class ConfigNodeCacheService implements BuildService<ConfigNodeCacheService.Parameters>, AutoCloseable {
+    public static final String NAME = "configurateNodeCache";
+    private static final Logger LOGGER = Logging.getLogger(ConfigNodeCacheService.class);
+
+    private final ConfigNodeCache cache;
+
+    /**
+     * Register the shared node cache service, if it is not yet present.
+     *
+     * @param services the build's shared services
+     * @return a provider for the service
+     */
+    public static Provider<ConfigNodeCacheService> registerIfAbsent(final BuildServiceRegistry services) {
+        return services.registerIfAbsent(NAME, ConfigNodeCacheService.class, spec -> {});
+    }
+
+    public ConfigNodeCacheService() {
+        this.cache = ConfigNodeCache.create(this.getParameters().getMaximumSize().getOrElse(ConfigNodeCache.DEFAULT_MAXIMUM_SIZE));
+    }
+
+    /**
+     * Get the cache held by this service.
+     *
+     * @return the node cache
+     */
+    public ConfigNodeCache cache() {
+        return this.cache;
+    }
+
+    @Override
+    public void close() {
+        LOGGER.info("Configurate node cache finished with {} hits and {} misses", this.cache.hits(), this.cache.misses());
+        this.cache.clear();
+    }
+
+    public interface Parameters extends BuildServiceParameters {
+        /**
+         * The maximum number of parsed nodes to hold.
+         *
+         * @return the maximum size property
+         */
+        Property<Integer> getMaximumSize();
+    }
+}
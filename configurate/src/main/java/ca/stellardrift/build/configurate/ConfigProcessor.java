@@ -17,6 +17,8 @@ package ca.stellardrift.build.configurate;
 
 import static java.util.Objects.requireNonNull;
 
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.Action;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
@@ -27,9 +29,21 @@ import org.spongepowered.configurate.util.UnmodifiableCollections;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectStreamException;
 import java.io.Reader;
+import java.io.Serializable;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
@@ -39,36 +53,220 @@ import java.util.function.UnaryOperator;
  * @param <B> builder type
  * @param <L> loader type
  */
-public final class ConfigProcessor<B extends AbstractConfigurationLoader.Builder<B, L>, L extends AbstractConfigurationLoader<?>> implements ConfigSource, ConfigTarget {
+public final class ConfigProcessor<B extends AbstractConfigurationLoader.Builder<B, L>, L extends AbstractConfigurationLoader<?>> implements ConfigSource, ConfigTarget, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int DEFAULT_CONVERSION_PARALLELISM = 4;
+    private static final int BUILDER_POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+    // Below this size, mapping a file costs more than copying it
+    private static final long MAP_THRESHOLD = 256 * 1024;
+
+    // Only standard formats can be serialized, by replacing them with their specification
+    private final @Nullable ConfigFormatSpec spec;
     private final Supplier<B> builderMaker;
     private final Set<String> extensions;
+    private final @Nullable ConfigNodeCache cache;
+    // Builders are not thread-safe, but can be reused to build any number of loaders.
+    // Every loader copies the builder's state, so we only swap out the source and sink.
+    // Idle builders are pooled on the processor rather than in thread locals, so
+    // long-lived daemon threads never keep them reachable after the build.
+    private final Queue<B> builders = new ArrayBlockingQueue<>(BUILDER_POOL_SIZE);
+    private volatile @MonotonicNonNull ConfigurationOptions options;
 
     ConfigProcessor(final Supplier<B> builderMaker, final String... extensions) {
-        this.builderMaker = requireNonNull(builderMaker);
-        this.extensions = UnmodifiableCollections.toSet(extensions);
+        this(ConfigFormatSpec.of(extensions[0]), builderMaker, UnmodifiableCollections.toSet(extensions), null);
     }
 
-    private ConfigProcessor(final Supplier<B> builderMaker, final Set<String> extensions) {
+    private ConfigProcessor(
+        final @Nullable ConfigFormatSpec spec,
+        final Supplier<B> builderMaker,
+        final Set<String> extensions,
+        final @Nullable ConfigNodeCache cache
+    ) {
+        this.spec = spec;
         this.builderMaker = requireNonNull(builderMaker);
         this.extensions = extensions;
+        this.cache = cache;
+    }
+
+    /**
+     * Get a snapshot of the default options produced by this format's builder.
+     *
+     * <p>Options are immutable, so the snapshot is shared between all threads.</p>
+     *
+     * @return the default options
+     */
+    ConfigurationOptions options() {
+        ConfigurationOptions options = this.options;
+        if (options == null) {
+            this.options = options = this.builderMaker.get().defaultOptions();
+        }
+        return options;
+    }
+
+    /**
+     * Create a new builder for this format, with every modifier applied.
+     *
+     * @return a new builder
+     */
+    B newBuilder() {
+        return this.builderMaker.get();
+    }
+
+    Supplier<B> builderMaker() {
+        return this.builderMaker;
+    }
+
+    /**
+     * Get the object that identifies this format's configuration in cache keys.
+     *
+     * <p>Formats described by a specification are identified by it, so that
+     * every processor with an equal format and options shares cache entries.
+     * Formats with builder modifiers can only be identified by their builder
+     * factory.</p>
+     *
+     * @return the cache identity
+     */
+    private Object cacheIdentity() {
+        return this.spec != null ? this.spec : this.builderMaker;
+    }
+
+    private L loader(
+        final @Nullable Callable<BufferedReader> source,
+        final @Nullable Callable<BufferedWriter> sink,
+        final ConfigurationOptions options
+    ) {
+        final @Nullable B pooled = this.builders.poll();
+        final B builder = pooled != null ? pooled : this.builderMaker.get();
+        try {
+            return builder.source(source)
+                    .sink(sink)
+                    .defaultOptions(options)
+                    .build();
+        } finally {
+            // don't hold on to streams between calls
+            builder.source(null).sink(null);
+            this.builders.offer(builder);
+        }
     }
 
     @Override
     public ConfigurationNode read(final Reader reader) throws ConfigurateException {
         requireNonNull(reader, "reader");
-        final ConfigurationLoader<?> loader = this.builderMaker.get()
-                .source(() -> new BufferedReader(reader))
-                .build();
+        if (this.cache != null) {
+            return this.readCached(reader, this.cache);
+        }
+        final ConfigurationLoader<?> loader = this.loader(() -> new BufferedReader(reader), null, this.options());
         return loader.load();
     }
 
+    private ConfigurationNode readCached(final Reader reader, final ConfigNodeCache cache) throws ConfigurateException {
+        // the key is computed as the text is read, so the text is only held once
+        final ConfigNodeCache.KeyBuilder keyBuilder = new ConfigNodeCache.KeyBuilder();
+        char[] chars = new char[2048];
+        int length = 0;
+        try {
+            int read;
+            while ((read = reader.read(chars, length, chars.length - length)) != -1) {
+                keyBuilder.update(chars, length, read);
+                length += read;
+                if (length == chars.length) {
+                    chars = Arrays.copyOf(chars, length * 2);
+                }
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(ex);
+        }
+
+        final ConfigNodeCache.Key key = keyBuilder.build(this.cacheIdentity());
+        final @Nullable ConfigurationNode existing = cache.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        final char[] text = chars;
+        final int textLength = length;
+        final ConfigurationLoader<?> loader = this.loader(() -> new BufferedReader(new CharArrayReader(text, 0, textLength)), null, this.options());
+        final ConfigurationNode node = loader.load();
+        cache.put(key, node);
+        return node;
+    }
+
+    /**
+     * Read a node from a UTF-8 encoded file.
+     *
+     * <p>Files of at least 256 KiB are memory-mapped rather than read through
+     * a stream, so their contents are served straight from the operating
+     * system's page cache. Text is decoded into pooled buffers, which are
+     * reused between reads on any thread.</p>
+     *
+     * <p>When this format is {@link #cached(ConfigNodeCache) cached}, mapped
+     * files are looked up in the cache before they are decoded.</p>
+     *
+     * @param file the file to read
+     * @return a loaded node
+     * @throws ConfigurateException if the file could not be read, or any error occurs while loading
+     */
+    @Override
+    public ConfigurationNode read(final Path file) throws ConfigurateException {
+        requireNonNull(file, "file");
+        final ChannelBuffers buffers = ChannelBuffers.acquire();
+        try {
+            final @Nullable ConfigNodeCache cache = this.cache;
+            final ConfigNodeCache.@Nullable Key key;
+            @Nullable ByteBuffer mapped = null;
+            if (Files.size(file) >= MAP_THRESHOLD) {
+                mapped = ChannelBuffers.map(file);
+                key = cache == null ? null : ConfigNodeCache.key(this.cacheIdentity(), mapped);
+            } else {
+                buffers.read(file);
+                key = cache == null ? null : ConfigNodeCache.key(this.cacheIdentity(), buffers.text());
+            }
+
+            if (cache != null && key != null) {
+                final @Nullable ConfigurationNode existing = cache.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+            }
+            if (mapped != null) {
+                buffers.decode(mapped);
+            }
+
+            final ConfigurationLoader<?> loader = this.loader(() -> new BufferedReader(buffers.reader()), null, this.options());
+            final ConfigurationNode node = loader.load();
+            if (cache != null && key != null) {
+                cache.put(key, node);
+            }
+            return node;
+        } catch (final ConfigurateException ex) {
+            throw ex;
+        } catch (final IOException ex) {
+            throw new ConfigurateException(ex);
+        } finally {
+            buffers.release();
+        }
+    }
+
+    /**
+     * Read a node from the provided reader.
+     *
+     * <p>Reads with an options modifier are never served from a
+     * {@link #cached(ConfigNodeCache) cache}, since the modifier
+     * cannot be compared between calls.</p>
+     *
+     * @param reader the reader to use
+     * @param optionsModifier an operator to tweak the options used in this source
+     * @return a loaded node
+     * @throws ConfigurateException if any error occurs while loading
+     */
     @Override
     public ConfigurationNode read(final Reader reader, final UnaryOperator<ConfigurationOptions> optionsModifier) throws ConfigurateException {
         requireNonNull(reader, "reader");
-        final ConfigurationLoader<?> loader = this.builderMaker.get()
-                .defaultOptions(optionsModifier)
-                .source(() -> new BufferedReader(reader))
-                .build();
+        final ConfigurationLoader<?> loader = this.loader(
+                () -> new BufferedReader(reader),
+                null,
+                optionsModifier.apply(this.options())
+        );
         return loader.load();
     }
 
@@ -76,25 +274,122 @@ public final class ConfigProcessor<B extends AbstractConfigurationLoader.Builder
     public void write(final Writer destination, final ConfigurationNode node) throws ConfigurateException {
         requireNonNull(destination, "destination");
         requireNonNull(node, "node");
-        final ConfigurationLoader<?> loader = this.builderMaker.get()
-                .sink(() -> new BufferedWriter(destination))
-                .build();
+        final ConfigurationLoader<?> loader = this.loader(null, () -> new BufferedWriter(destination), this.options());
         loader.save(node);
     }
 
+    /**
+     * Convert every file in {@code inputs} from this format to {@code target}.
+     *
+     * <p>Files are converted in parallel, on up to four threads.</p>
+     *
+     * @param inputs the files to convert
+     * @param outputDirectory the directory to write converted files to
+     * @param target the format to convert to
+     * @return statistics describing the conversion
+     * @throws IOException if any file could not be converted
+     * @see #convertAll(Iterable, Path, ConfigTarget, int)
+     */
+    public ConversionStatistics convertAll(final Iterable<Path> inputs, final Path outputDirectory, final ConfigTarget target) throws IOException {
+        return this.convertAll(inputs, outputDirectory, target, Math.min(DEFAULT_CONVERSION_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Convert every file in {@code inputs} from this format to {@code target}.
+     *
+     * <p>Input files are read as UTF-8. Each output file keeps the name of its
+     * input, with the extension replaced by the target's extension when the
+     * target is a standard format or a {@link ConfigFormatSpec}. Existing
+     * output files are replaced.</p>
+     *
+     * <p>Loaders and buffers are reused by each thread for every file it
+     * converts, so batches are much cheaper than reading and writing each
+     * file separately. When any file fails to convert, every other file is
+     * still attempted before an exception is thrown.</p>
+     *
+     * @param inputs the files to convert
+     * @param outputDirectory the directory to write converted files to, which must exist
+     * @param target the format to convert to
+     * @param parallelism the maximum number of files to convert at once
+     * @return statistics describing the conversion
+     * @throws IOException if any file could not be converted
+     * @throws IllegalArgumentException if two inputs would be converted to the same output file
+     */
+    public ConversionStatistics convertAll(
+        final Iterable<Path> inputs,
+        final Path outputDirectory,
+        final ConfigTarget target,
+        final int parallelism
+    ) throws IOException {
+        requireNonNull(inputs, "inputs");
+        requireNonNull(outputDirectory, "outputDirectory");
+        return new BatchConverter(this, target, parallelism).convert(inputs, outputDirectory);
+    }
+
     /**
      * Create a derived configuration format that applies additional configuration to this format's builder.
      *
+     * <p>Derived formats cannot be serialized, so they are not compatible with
+     * Gradle's configuration cache. Use a {@link ConfigFormatSpec} with options
+     * to describe a configured format in task state instead.</p>
+     *
+     * <p>The modifier is applied once for each pooled builder of the derived
+     * format, rather than on every read or write.</p>
+     *
      * @param builderModifier The builder modifier
      * @return a derived format
      */
     public ConfigProcessor<B, L> configured(final Action<B> builderModifier) {
         requireNonNull(builderModifier, "builderModifier");
-        return new ConfigProcessor<>(() -> {
+        return new ConfigProcessor<>(null, () -> {
             final B ret = this.builderMaker.get();
             builderModifier.execute(ret);
             return ret;
-        }, this.extensions);
+        }, this.extensions, this.cache);
+    }
+
+    /**
+     * Create a derived configuration format that serves reads from {@code cache}.
+     *
+     * <p>Content that has already been parsed by this format is not parsed
+     * again, and a copy of the previously parsed node is returned instead.
+     * Formats derived from the returned format share the same cache.</p>
+     *
+     * <p>When serialized, the cache is dropped from the format.</p>
+     *
+     * @param cache the cache to store parsed nodes in
+     * @return a derived format
+     * @see ConfigNodeCacheService for a cache shared across the build
+     */
+    public ConfigProcessor<B, L> cached(final ConfigNodeCache cache) {
+        requireNonNull(cache, "cache");
+        return new ConfigProcessor<>(this.spec, this.builderMaker, this.extensions, cache);
+    }
+
+    /**
+     * Get a serializable specification describing this format, if it is a standard format.
+     *
+     * @return the specification, or {@code null} for formats with builder modifiers
+     */
+    public @Nullable ConfigFormatSpec spec() {
+        return this.spec;
+    }
+
+    /**
+     * Create a copy of this format that is described by {@code spec}.
+     *
+     * @param spec the specification describing this format
+     * @return a derived format
+     */
+    ConfigProcessor<B, L> withSpec(final ConfigFormatSpec spec) {
+        return new ConfigProcessor<>(spec, this.builderMaker, this.extensions, this.cache);
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        if (this.spec == null) {
+            throw new NotSerializableException("A configured ConfigProcessor cannot be serialized. Use a ConfigFormatSpec with options instead.");
+        }
+        return this.spec;
     }
 
     /**
@@ -19,7 +19,11 @@ import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 
+import java.io.IOException;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.function.UnaryOperator;
 
 /**
@@ -38,6 +42,23 @@ public interface ConfigSource {
         return this.read(reader, UnaryOperator.identity());
     }
 
+    /**
+     * Read a node from a UTF-8 encoded file.
+     *
+     * @param file the file to read
+     * @return a loaded node
+     * @throws ConfigurateException if the file could not be read, or any error occurs while loading
+     */
+    default ConfigurationNode read(final Path file) throws ConfigurateException {
+        try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return this.read(reader);
+        } catch (final ConfigurateException ex) {
+            throw ex;
+        } catch (final IOException ex) {
+            throw new ConfigurateException(ex);
+        }
+    }
+
 
     /**
      * Read a node from the provided reader.
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import java.time.Duration;
+
+/**
+ * Statistics describing a completed batch conversion.
+ *
+ * @see ConfigProcessor#convertAll(Iterable, java.nio.file.Path, ConfigTarget)
+ */
+public final class ConversionStatistics {
+    private final int files;
+    private final long bytesRead;
+    private final long bytesWritten;
+    private final Duration elapsed;
+
+    ConversionStatistics(final int files, final long bytesRead, final long bytesWritten, final Duration elapsed) {
+        this.files = files;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Get the number of files converted.
+     *
+     * @return the file count
+     */
+    public int files() {
+        return this.files;
+    }
+
+    /**
+     * Get the total size of all input files.
+     *
+     * @return the number of bytes read
+     */
+    public long bytesRead() {
+        return this.bytesRead;
+    }
+
+    /**
+     * Get the total size of all output files.
+     *
+     * @return the number of bytes written
+     */
+    public long bytesWritten() {
+        return this.bytesWritten;
+    }
+
+    /**
+     * Get the wall-clock time taken by the whole batch.
+     *
+     * @return the elapsed time
+     */
+    public Duration elapsed() {
+        return this.elapsed;
+    }
+
+    /**
+     * Get the number of files converted per second of wall-clock time.
+     *
+     * @return the file throughput
+     */
+    public double filesPerSecond() {
+        return this.perSecond(this.files);
+    }
+
+    /**
+     * Get the number of input bytes converted per second of wall-clock time.
+     *
+     * @return the byte throughput
+     */
+    public double bytesPerSecond() {
+        return this.perSecond(this.bytesRead);
+    }
+
+    private double perSecond(final long amount) {
+        final long nanos = this.elapsed.toNanos();
+        return nanos == 0 ? 0 : amount * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Converted %d files (%d bytes read, %d bytes written) in %d ms: %.1f files/s, %.1f KiB/s",
+            this.files,
+            this.bytesRead,
+            this.bytesWritten,
+            this.elapsed.toMillis(),
+            this.filesPerSecond(),
+            this.bytesPerSecond() / 1024
+        );
+    }
+}
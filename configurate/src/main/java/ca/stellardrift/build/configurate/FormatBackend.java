@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
+import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+import org.spongepowered.configurate.xml.XmlConfigurationLoader;
+import org.spongepowered.configurate.yaml.NodeStyle;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.util.Locale;
+
+/**
+ * The part of a standard format that depends on its Configurate loader.
+ *
+ * <p>Backends are only created once their format is first used, so that a
+ * build only loads the loader classes, and their libraries, for formats it
+ * actually reads or writes.</p>
+ *
+ * @param <B> builder type
+ * @param <L> loader type
+ */
+abstract class FormatBackend<B extends AbstractConfigurationLoader.Builder<B, L>, L extends AbstractConfigurationLoader<?>> {
+
+    /**
+     * Create a new loader builder.
+     *
+     * @return a new builder
+     */
+    abstract B newBuilder();
+
+    /**
+     * Apply a format-specific option to a builder.
+     *
+     * @param builder the builder
+     * @param key the option key
+     * @param value the option value
+     * @throws IllegalArgumentException if the option is not known or its value is invalid
+     */
+    abstract void applyOption(B builder, String key, String value);
+
+    static IllegalArgumentException unknownOption(final String key, final String format) {
+        return new IllegalArgumentException("Unknown option '" + key + "' for the " + format + " format");
+    }
+
+    static final class Hocon extends FormatBackend<HoconConfigurationLoader.Builder, HoconConfigurationLoader> {
+        @Override
+        HoconConfigurationLoader.Builder newBuilder() {
+            return HoconConfigurationLoader.builder();
+        }
+
+        @Override
+        void applyOption(final HoconConfigurationLoader.Builder builder, final String key, final String value) {
+            switch (key) {
+                case "pretty-printing": builder.prettyPrinting(Boolean.parseBoolean(value)); return;
+                case "emit-comments": builder.emitComments(Boolean.parseBoolean(value)); return;
+                case "emit-json-compatible": builder.emitJsonCompatible(Boolean.parseBoolean(value)); return;
+                default: throw unknownOption(key, "hocon");
+            }
+        }
+    }
+
+    static final class Json extends FormatBackend<GsonConfigurationLoader.Builder, GsonConfigurationLoader> {
+        @Override
+        GsonConfigurationLoader.Builder newBuilder() {
+            return GsonConfigurationLoader.builder();
+        }
+
+        @Override
+        void applyOption(final GsonConfigurationLoader.Builder builder, final String key, final String value) {
+            switch (key) {
+                case "indent": builder.indent(Integer.parseInt(value)); return;
+                case "lenient": builder.lenient(Boolean.parseBoolean(value)); return;
+                default: throw unknownOption(key, "json");
+            }
+        }
+    }
+
+    static final class Yaml extends FormatBackend<YamlConfigurationLoader.Builder, YamlConfigurationLoader> {
+        @Override
+        YamlConfigurationLoader.Builder newBuilder() {
+            return YamlConfigurationLoader.builder();
+        }
+
+        @Override
+        void applyOption(final YamlConfigurationLoader.Builder builder, final String key, final String value) {
+            switch (key) {
+                case "indent": builder.indent(Integer.parseInt(value)); return;
+                case "node-style": builder.nodeStyle(NodeStyle.valueOf(value.toUpperCase(Locale.ROOT))); return;
+                default: throw unknownOption(key, "yaml");
+            }
+        }
+    }
+
+    static final class Toml extends FormatBackend<TomlConfigurationLoader.Builder, TomlConfigurationLoader> {
+        @Override
+        TomlConfigurationLoader.Builder newBuilder() {
+            return TomlConfigurationLoader.builder();
+        }
+
+        @Override
+        void applyOption(final TomlConfigurationLoader.Builder builder, final String key, final String value) {
+            throw unknownOption(key, "toml");
+        }
+    }
+
+    static final class Xml extends FormatBackend<XmlConfigurationLoader.Builder, XmlConfigurationLoader> {
+        @Override
+        XmlConfigurationLoader.Builder newBuilder() {
+            return XmlConfigurationLoader.builder();
+        }
+
+        @Override
+        void applyOption(final XmlConfigurationLoader.Builder builder, final String key, final String value) {
+            switch (key) {
+                case "indent": builder.indent(Integer.parseInt(value)); return;
+                case "default-tag-name": builder.defaultTagName(value); return;
+                default: throw unknownOption(key, "xml");
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.toml.TomlMapper;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+import org.spongepowered.configurate.loader.CommentHandler;
+import org.spongepowered.configurate.loader.CommentHandlers;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A loader for <a href="https://toml.io/">TOML</a> documents.
+ *
+ * <p>Documents are read and written through Jackson's TOML support. Dates
+ * and times are read as strings, and comments are not preserved beyond the
+ * file header.</p>
+ *
+ * <p>TOML has no null value, and a document must be a table, so nodes that
+ * are not maps cannot be written.</p>
+ */
+public final class TomlConfigurationLoader extends AbstractConfigurationLoader<BasicConfigurationNode> {
+    private static final Set<Class<?>> NATIVE_TYPES = UnmodifiableCollections.toSet(
+        Map.class, List.class, Double.class, Float.class, Long.class, Integer.class, Boolean.class, String.class
+    );
+    private static final TypeReference<Map<String, Object>> TABLE = new TypeReference<Map<String, Object>>() {};
+    // configurate closes streams itself
+    private static final TomlMapper MAPPER = TomlMapper.builder()
+        .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
+
+    /**
+     * Create a new builder for a TOML loader.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private TomlConfigurationLoader(final Builder builder) {
+        super(builder, new CommentHandler[] {CommentHandlers.HASH});
+    }
+
+    @Override
+    protected void loadInternal(final BasicConfigurationNode node, final BufferedReader reader) throws ParsingException {
+        try {
+            node.raw(MAPPER.readValue(reader, TABLE));
+        } catch (final JsonProcessingException ex) {
+            final @Nullable JsonLocation location = ex.getLocation();
+            throw new ParsingException(
+                location == null ? ParsingException.UNKNOWN_POS : location.getLineNr(),
+                location == null ? ParsingException.UNKNOWN_POS : location.getColumnNr(),
+                null,
+                ex.getOriginalMessage(),
+                ex
+            );
+        } catch (final IOException ex) {
+            throw new ParsingException(ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null, ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        if (node.empty()) {
+            return;
+        }
+        if (!node.isMap()) {
+            throw new ConfigurateException("A TOML document must be a table, not " + node.raw());
+        }
+        try {
+            MAPPER.writeValue(writer, node.raw());
+        } catch (final IOException ex) {
+            throw new ConfigurateException(ex);
+        }
+    }
+
+    @Override
+    public BasicConfigurationNode createNode(final ConfigurationOptions options) {
+        return BasicConfigurationNode.root(options.nativeTypes(NATIVE_TYPES));
+    }
+
+    /**
+     * Builds a {@link TomlConfigurationLoader}.
+     */
+    public static final class Builder extends AbstractConfigurationLoader.Builder<Builder, TomlConfigurationLoader> {
+
+        Builder() {
+            this.defaultOptions(o -> o.nativeTypes(NATIVE_TYPES));
+        }
+
+        @Override
+        public TomlConfigurationLoader build() {
+            return new TomlConfigurationLoader(this);
+        }
+    }
+}
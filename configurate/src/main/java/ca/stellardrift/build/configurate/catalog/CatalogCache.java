@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import ca.stellardrift.build.configurate.ConfigFormatSpec;
+import ca.stellardrift.build.configurate.ConfigProcessor;
+import ca.stellardrift.build.configurate.ConfigSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * An on-disk cache of parsed catalogs, holding one entry per catalog file.
+ *
+ * <p>Each entry is stored with a key made from the catalog's content hash, its
+ * format, how it was parsed, and the versions of the catalog format and of the
+ * parser, so any change to one of those causes the catalog to be parsed
+ * again.</p>
+ */
+final class CatalogCache {
+    private static final Logger LOGGER = Logging.getLogger(CatalogCache.class);
+    private static final int MAGIC = 0x50564331; // PVC1
+    /**
+     * Revision of the catalog parser.
+     *
+     * <p>This must be increased whenever a change to parsing could produce a
+     * different model from the same file, so entries written by older
+     * versions of the plugin are not reused.</p>
+     */
+    static final int PARSER_REVISION = 2;
+
+    private final Path cacheFile;
+    private final byte[] key;
+
+    /**
+     * Get a description of the format read by a source, if it can be identified.
+     *
+     * @param source the source
+     * @return the format, or {@code null} for sources with custom configuration
+     */
+    static @Nullable ConfigFormatSpec formatSpec(final ConfigSource source) {
+        if (source instanceof ConfigProcessor<?, ?>) {
+            return ((ConfigProcessor<?, ?>) source).spec();
+        } else if (source instanceof ConfigFormatSpec) {
+            return (ConfigFormatSpec) source;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Create a cache entry for a catalog file.
+     *
+     * @param directory the directory holding cache entries
+     * @param source the format the catalog is read with
+     * @param catalog the catalog file
+     * @param contents the current contents of the catalog file
+     * @param streaming whether the catalog is parsed entry by entry when the format allows it
+     * @return a cache entry, or {@code null} if the format cannot be identified between builds
+     */
+    static @Nullable CatalogCache create(
+        final Path directory,
+        final ConfigSource source,
+        final Path catalog,
+        final byte[] contents,
+        final boolean streaming
+    ) {
+        final @Nullable ConfigFormatSpec format = formatSpec(source);
+        if (format == null) {
+            return null;
+        }
+
+        final MessageDigest key = sha256();
+        key.update(PolyglotVersionCatalogPlugin.FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+        key.update((byte) CatalogModel.BINARY_VERSION);
+        key.update((byte) PARSER_REVISION);
+        key.update((byte) (streaming ? 1 : 0));
+        key.update(format.toString().getBytes(StandardCharsets.UTF_8));
+        key.update(contents);
+
+        final String fileName = hex(sha256().digest(catalog.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8)));
+        return new CatalogCache(directory.resolve(fileName + ".bin"), key.digest());
+    }
+
+    private CatalogCache(final Path cacheFile, final byte[] key) {
+        this.cacheFile = cacheFile;
+        this.key = key;
+    }
+
+    /**
+     * Load the cached model, if it is still current.
+     *
+     * @return the cached model, or {@code null} if there is no current entry
+     */
+    @Nullable CatalogModel load() {
+        if (!Files.isRegularFile(this.cacheFile)) {
+            return null;
+        }
+
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.cacheFile)))) {
+            if (in.readInt() != MAGIC) {
+                return null;
+            }
+            final byte[] storedKey = new byte[in.readUnsignedByte()];
+            in.readFully(storedKey);
+            if (!Arrays.equals(storedKey, this.key)) {
+                return null;
+            }
+            return CatalogModel.readFrom(in);
+        } catch (final IOException ex) {
+            LOGGER.debug("Discarding unreadable catalog cache entry {}", this.cacheFile, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Store a freshly parsed model.
+     *
+     * <p>Failures are not fatal, the catalog will just be parsed again next time.</p>
+     *
+     * @param model the model to store
+     */
+    void store(final CatalogModel model) {
+        try {
+            Files.createDirectories(this.cacheFile.getParent());
+            final Path temp = Files.createTempFile(this.cacheFile.getParent(), this.cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeByte(this.key.length);
+                    out.write(this.key);
+                    model.writeTo(out);
+                }
+                Files.move(temp, this.cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (final IOException ex) {
+            LOGGER.debug("Unable to write catalog cache entry {}", this.cacheFile, ex);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every JVM", ex);
+        }
+    }
+
+    private static String hex(final byte[] bytes) {
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16))
+                .append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import ca.stellardrift.build.configurate.ConfigFormats;
+import ca.stellardrift.build.configurate.ConfigProcessor;
+import ca.stellardrift.build.configurate.ConfigSource;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+/**
+ * Reading a catalog that is split over several files.
+ *
+ * <p>Fragments are read in parallel, then merged in the order they were
+ * located, so the result does not depend on which fragment finished first.
+ * Each alias may only be declared by one fragment.</p>
+ */
+final class CatalogFragments {
+    private static final Logger LOGGER = Logging.getLogger(CatalogFragments.class);
+    private static final int MAXIMUM_THREADS = 4;
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ThreadFactory THREAD_FACTORY = task -> {
+        final Thread thread = new Thread(task, "polyglot-catalog-reader-" + THREAD_ID.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private CatalogFragments() {
+    }
+
+    /**
+     * A single file contributing to a catalog.
+     */
+    static final class Fragment {
+        final ConfigSource source;
+        final Path file;
+
+        Fragment(final ConfigSource source, final Path file) {
+            this.source = source;
+            this.file = file;
+        }
+    }
+
+    /**
+     * Finds the fragments making up a catalog, when the catalog is populated.
+     */
+    @FunctionalInterface
+    interface Locator {
+        List<Fragment> locate() throws IOException;
+    }
+
+    @FunctionalInterface
+    interface FragmentReader {
+        CatalogModel read(Fragment fragment) throws IOException;
+    }
+
+    static Locator file(final ConfigSource source, final Path file) {
+        return () -> Collections.singletonList(new Fragment(source, file));
+    }
+
+    static Locator directory(final Path directory, final String glob) {
+        return () -> list(directory, glob);
+    }
+
+    static Locator concat(final Locator first, final Locator second) {
+        return () -> {
+            final List<Fragment> fragments = new ArrayList<>(first.locate());
+            fragments.addAll(second.locate());
+            return fragments;
+        };
+    }
+
+    /**
+     * List the files in a directory that match {@code glob} and have the
+     * extension of a known format.
+     *
+     * @param directory the directory to search
+     * @param glob the pattern file names must match
+     * @return the fragments, ordered by file name
+     * @throws IOException if the directory could not be listed
+     */
+    static List<Fragment> list(final Path directory, final String glob) throws IOException {
+        final List<Fragment> fragments = new ArrayList<>();
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (final Path file : files) {
+                final String name = file.getFileName().toString();
+                final int dot = name.lastIndexOf('.');
+                if (dot == -1 || !Files.isRegularFile(file)) {
+                    continue;
+                }
+                final @Nullable ConfigProcessor<?, ?> processor = ConfigFormats.byExtension(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+                if (processor != null) {
+                    fragments.add(new Fragment(processor, file));
+                }
+            }
+        } catch (final NoSuchFileException | NotDirectoryException ex) {
+            return Collections.emptyList();
+        }
+        fragments.sort(Comparator.comparing(fragment -> fragment.file.getFileName().toString()));
+        return fragments;
+    }
+
+    /**
+     * Read every fragment and merge the results.
+     *
+     * @param fragments the fragments to read, in merge order
+     * @param reader the function reading a single fragment
+     * @return the merged catalog
+     * @throws IOException if any fragment could not be read
+     * @throws InvalidUserDataException if more than one fragment declares the same alias
+     */
+    static CatalogModel readAll(final List<Fragment> fragments, final FragmentReader reader) throws IOException {
+        if (fragments.size() == 1) {
+            return reader.read(fragments.get(0));
+        }
+
+        final int threads = Math.min(fragments.size(), Math.min(MAXIMUM_THREADS, Runtime.getRuntime().availableProcessors()));
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, THREAD_FACTORY);
+        try {
+            final List<Future<CatalogModel>> pending = new ArrayList<>(fragments.size());
+            for (final Fragment fragment : fragments) {
+                pending.add(executor.submit(() -> reader.read(fragment)));
+            }
+
+            final List<CatalogModel> models = new ArrayList<>(fragments.size());
+            for (final Future<CatalogModel> model : pending) {
+                models.add(await(model));
+            }
+            return merge(fragments, models);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parse a single catalog file.
+     *
+     * @param source the format of the file
+     * @param file the file, for messages
+     * @param contents the contents of the file
+     * @param streaming whether to read entry by entry when the format allows it
+     * @return the parsed catalog
+     * @throws IOException if the file could not be read
+     * @throws InvalidUserDataException if the file is not a valid catalog
+     */
+    static CatalogModel parse(final ConfigSource source, final Path file, final byte[] contents, final boolean streaming) throws IOException {
+        try {
+            if (streaming) {
+                final @Nullable StreamingCatalogReader streamingReader = StreamingCatalogReader.forSource(source);
+                if (streamingReader != null) {
+                    final CatalogModel model = new CatalogModel();
+                    try (final Reader reader = reader(contents)) {
+                        if (streamingReader.read(reader, new VersionCatalogApplier(model))) {
+                            return model;
+                        }
+                    }
+                    LOGGER.info("Version catalog {} uses features that cannot be streamed, reading it as a whole document", file);
+                }
+            }
+
+            final CatalogModel model = new CatalogModel();
+            try (final BufferedReader reader = reader(contents)) {
+                // VersionCatalogApplier decodes versions itself, so no serializers need to be registered
+                final ConfigurationNode node = source.read(reader);
+                new VersionCatalogApplier(model).load(node);
+            }
+            return model;
+        } catch (final SerializationException ex) {
+            throw new InvalidUserDataException("Invalid version catalog " + file + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    private static BufferedReader reader(final byte[] contents) {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(contents), StandardCharsets.UTF_8));
+    }
+
+    private static CatalogModel await(final Future<CatalogModel> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading version catalog fragments");
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Merge fragment models in order.
+     *
+     * @param fragments the fragments, used to name files in errors
+     * @param models the model read from each fragment
+     * @return the merged model
+     * @throws InvalidUserDataException if more than one fragment declares the same alias
+     */
+    static CatalogModel merge(final List<Fragment> fragments, final List<CatalogModel> models) {
+        final CatalogModel merged = new CatalogModel();
+        final Map<String, Path> libraries = new HashMap<>();
+        final Map<String, Path> bundles = new HashMap<>();
+        final Map<String, Path> plugins = new HashMap<>();
+        final Map<String, Path> legacyPlugins = new HashMap<>();
+        final Map<String, Path> versions = new HashMap<>();
+        for (int i = 0; i < fragments.size(); i++) {
+            final Path file = fragments.get(i).file;
+            final CatalogModel model = models.get(i);
+            merge("library", model.libraries, merged.libraries, libraries, file);
+            merge("bundle", model.bundles, merged.bundles, bundles, file);
+            merge("plugin", model.plugins, merged.plugins, plugins, file);
+            merge("plugin", model.legacyPlugins, merged.legacyPlugins, legacyPlugins, file);
+            merge("version", model.versions, merged.versions, versions, file);
+        }
+        return merged;
+    }
+
+    private static <V> void merge(
+        final String kind,
+        final Map<String, V> from,
+        final Map<String, V> into,
+        final Map<String, Path> origins,
+        final Path file
+    ) {
+        for (final Map.Entry<String, V> entry : from.entrySet()) {
+            final @Nullable Path existing = origins.putIfAbsent(entry.getKey(), file);
+            if (existing != null) {
+                throw new InvalidUserDataException("The " + kind + " '" + entry.getKey() + "' is declared in both " + existing + " and " + file);
+            }
+            into.put(entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.initialization.dsl.VersionCatalogBuilder;
+import org.gradle.plugin.use.PluginDependenciesSpec;
+
+/**
+ * A normalized version catalog, independent of the format it was read from.
+ *
+ * <p>Entries are kept in declaration order.</p>
+ */
+final class CatalogModel {
+    /**
+     * Version of the binary form written by {@link #writeTo(DataOutput)}.
+     */
+    static final int BINARY_VERSION = 1;
+
+    final Map<String, Library> libraries = new LinkedHashMap<>();
+    final Map<String, List<String>> bundles = new LinkedHashMap<>();
+    final Map<String, Plugin> plugins = new LinkedHashMap<>();
+    final Map<String, @Nullable String> legacyPlugins = new LinkedHashMap<>();
+    final Map<String, GradleVersion> versions = new LinkedHashMap<>();
+
+    /**
+     * Apply every entry in this model to a Gradle version catalog.
+     *
+     * @param builder the catalog builder
+     * @param pluginSpec the settings plugin spec, for legacy plugin declarations
+     */
+    @SuppressWarnings("deprecation")
+    void applyTo(final VersionCatalogBuilder builder, final PluginDependenciesSpec pluginSpec) {
+        for (final Map.Entry<String, Library> entry : this.libraries.entrySet()) {
+            entry.getValue().applyTo(entry.getKey(), builder);
+        }
+
+        for (final Map.Entry<String, List<String>> entry : this.bundles.entrySet()) {
+            builder.bundle(entry.getKey(), entry.getValue());
+        }
+
+        for (final Map.Entry<String, Plugin> entry : this.plugins.entrySet()) {
+            entry.getValue().applyTo(entry.getKey(), builder);
+        }
+
+        for (final Map.Entry<String, @Nullable String> entry : this.legacyPlugins.entrySet()) {
+            pluginSpec.id(entry.getKey()).version(entry.getValue());
+        }
+
+        for (final Map.Entry<String, GradleVersion> entry : this.versions.entrySet()) {
+            builder.version(entry.getKey(), entry.getValue()::applyTo);
+        }
+    }
+
+    // binary form //
+
+    /**
+     * Write this model in a compact binary form.
+     *
+     * @param out the destination
+     * @throws IOException if unable to write
+     */
+    void writeTo(final DataOutput out) throws IOException {
+        out.writeInt(BINARY_VERSION);
+
+        out.writeInt(this.libraries.size());
+        for (final Map.Entry<String, Library> entry : this.libraries.entrySet()) {
+            out.writeUTF(entry.getKey());
+            final Library library = entry.getValue();
+            writeNullable(out, library.notation);
+            writeNullable(out, library.group);
+            writeNullable(out, library.name);
+            writeVersion(out, library.version);
+        }
+
+        out.writeInt(this.bundles.size());
+        for (final Map.Entry<String, List<String>> entry : this.bundles.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeList(out, entry.getValue());
+        }
+
+        out.writeInt(this.plugins.size());
+        for (final Map.Entry<String, Plugin> entry : this.plugins.entrySet()) {
+            out.writeUTF(entry.getKey());
+            final Plugin plugin = entry.getValue();
+            out.writeUTF(plugin.id);
+            writeNullable(out, plugin.notation);
+            writeVersion(out, plugin.version);
+        }
+
+        out.writeInt(this.legacyPlugins.size());
+        for (final Map.Entry<String, @Nullable String> entry : this.legacyPlugins.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeNullable(out, entry.getValue());
+        }
+
+        out.writeInt(this.versions.size());
+        for (final Map.Entry<String, GradleVersion> entry : this.versions.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeVersion(out, entry.getValue());
+        }
+    }
+
+    /**
+     * Read a model from its binary form.
+     *
+     * @param in the source
+     * @return a new model
+     * @throws IOException if unable to read, or the data was written by an incompatible version
+     */
+    static CatalogModel readFrom(final DataInput in) throws IOException {
+        final int version = in.readInt();
+        if (version != BINARY_VERSION) {
+            throw new IOException("Unsupported binary catalog version " + version);
+        }
+
+        final CatalogModel model = new CatalogModel();
+        for (int i = 0, size = in.readInt(); i < size; i++) {
+            final String alias = in.readUTF();
+            model.libraries.put(alias, new Library(readNullable(in), readNullable(in), readNullable(in), readVersion(in)));
+        }
+
+        for (int i = 0, size = in.readInt(); i < size; i++) {
+            model.bundles.put(in.readUTF(), readList(in));
+        }
+
+        for (int i = 0, size = in.readInt(); i < size; i++) {
+            final String alias = in.readUTF();
+            model.plugins.put(alias, new Plugin(in.readUTF(), readNullable(in), readVersion(in)));
+        }
+
+        for (int i = 0, size = in.readInt(); i < size; i++) {
+            model.legacyPlugins.put(in.readUTF(), readNullable(in));
+        }
+
+        for (int i = 0, size = in.readInt(); i < size; i++) {
+            final String reference = in.readUTF();
+            final @Nullable GradleVersion ver = readVersion(in);
+            if (ver == null) {
+                throw new IOException("Version reference " + reference + " had no version");
+            }
+            model.versions.put(reference, ver);
+        }
+        return model;
+    }
+
+    private static void writeNullable(final DataOutput out, final @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static @Nullable String readNullable(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeList(final DataOutput out, final List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (final String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readList(final DataInput in) throws IOException {
+        final int size = in.readInt();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        final List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    private static void writeVersion(final DataOutput out, final @Nullable GradleVersion version) throws IOException {
+        out.writeBoolean(version != null);
+        if (version != null) {
+            writeNullable(out, version.versionRef());
+            writeNullable(out, version.require());
+            writeNullable(out, version.strictly());
+            writeNullable(out, version.prefer());
+            writeList(out, version.rejectedVersions());
+            out.writeBoolean(version.rejectAll());
+        }
+    }
+
+    private static @Nullable GradleVersion readVersion(final DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return GradleVersion.builder()
+            .versionRef(readNullable(in))
+            .require(readNullable(in))
+            .strictly(readNullable(in))
+            .prefer(readNullable(in))
+            .addAllRejectedVersions(readList(in))
+            .rejectAll(in.readBoolean())
+            .build();
+    }
+
+    /**
+     * A library alias.
+     *
+     * <p>Either a full {@code group:name:version} notation, or
+     * separate coordinates with an optional version.</p>
+     */
+    static final class Library {
+        final @Nullable String notation;
+        final @Nullable String group;
+        final @Nullable String name;
+        final @Nullable GradleVersion version;
+
+        static Library notation(final String notation) {
+            return new Library(notation, null, null, null);
+        }
+
+        static Library coordinates(final String group, final String name, final @Nullable GradleVersion version) {
+            return new Library(null, group, name, version);
+        }
+
+        Library(final @Nullable String notation, final @Nullable String group, final @Nullable String name, final @Nullable GradleVersion version) {
+            this.notation = notation;
+            this.group = group;
+            this.name = name;
+            this.version = version;
+        }
+
+        @SuppressWarnings("deprecation")
+        void applyTo(final String alias, final VersionCatalogBuilder builder) {
+            if (this.notation != null) {
+                builder.library(alias, this.notation);
+                return;
+            }
+
+            final VersionCatalogBuilder.LibraryAliasBuilder library = builder.library(alias, this.group, this.name);
+            if (this.version == null) {
+                library.withoutVersion();
+            } else if (this.version.versionRef() != null) {
+                library.versionRef(this.version.versionRef());
+            } else {
+                library.version(this.version::applyTo);
+            }
+        }
+    }
+
+    /**
+     * A plugin alias.
+     *
+     * <p>Versions are either a plain version string from an {@code id:version}
+     * notation, or a rich version.</p>
+     */
+    static final class Plugin {
+        final String id;
+        final @Nullable String notation;
+        final @Nullable GradleVersion version;
+
+        static Plugin notation(final String id, final @Nullable String version) {
+            return new Plugin(id, version, null);
+        }
+
+        static Plugin rich(final String id, final @Nullable GradleVersion version) {
+            return new Plugin(id, null, version);
+        }
+
+        Plugin(final String id, final @Nullable String notation, final @Nullable GradleVersion version) {
+            this.id = id;
+            this.notation = notation;
+            this.version = version;
+        }
+
+        void applyTo(final String alias, final VersionCatalogBuilder builder) {
+            final VersionCatalogBuilder.PluginAliasBuilder plugin = builder.plugin(alias, this.id);
+            if (this.notation != null) {
+                plugin.version(this.notation);
+            } else if (this.version != null) {
+                if (this.version.versionRef() != null) {
+                    plugin.versionRef(this.version.versionRef());
+                } else {
+                    plugin.version(this.version::applyTo);
+                }
+            }
+        }
+    }
+}
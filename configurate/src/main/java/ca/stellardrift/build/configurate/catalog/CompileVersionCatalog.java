@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import ca.stellardrift.build.configurate.ConfigFormats;
+import ca.stellardrift.build.configurate.ConfigProcessor;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Compile a polyglot version catalog into Gradle's own TOML catalog format.
+ *
+ * <p>The TOML catalog can be read by Gradle directly, without this plugin or
+ * Configurate on the settings classpath.</p>
+ */
+@CacheableTask
+public abstract class CompileVersionCatalog extends DefaultTask {
+
+    public CompileVersionCatalog() {
+        this.setGroup("build");
+        this.setDescription("Compile a polyglot version catalog to TOML");
+    }
+
+    /**
+     * The main catalog file, if any.
+     *
+     * <p>The format of the catalog is chosen by its extension.</p>
+     *
+     * @return the catalog file property
+     */
+    @InputFiles
+    @Optional
+    @SkipWhenEmpty
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract RegularFileProperty getCatalog();
+
+    /**
+     * A directory of catalog fragments, merged after the main catalog.
+     *
+     * <p>As for the settings plugin, only files directly in this directory
+     * with the extension of a known format are read, in order of file name.
+     * Declaring the same alias in more than one file is an error.</p>
+     *
+     * @return the fragments directory property
+     */
+    @InputFiles
+    @Optional
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getFragmentsDirectory();
+
+    /**
+     * The TOML catalog to write.
+     *
+     * @return the destination file property
+     */
+    @OutputFile
+    public abstract RegularFileProperty getDestination();
+
+    @TaskAction
+    public void compile() throws IOException {
+        final List<CatalogFragments.Fragment> fragments = this.locator().locate();
+        final CatalogModel model = fragments.isEmpty() ? new CatalogModel() : CatalogFragments.readAll(
+            fragments,
+            fragment -> CatalogFragments.parse(fragment.source, fragment.file, Files.readAllBytes(fragment.file), false)
+        );
+
+        if (!model.legacyPlugins.isEmpty()) {
+            this.getLogger().warn(
+                "Settings plugin declarations ({}) cannot be expressed in a TOML version catalog, and were left out",
+                String.join(", ", model.legacyPlugins.keySet())
+            );
+        }
+
+        final Path destination = this.getDestination().get().getAsFile().toPath();
+        Files.createDirectories(destination.getParent());
+        try (final BufferedWriter writer = Files.newBufferedWriter(destination, StandardCharsets.UTF_8)) {
+            new TomlCatalogWriter(writer).write(model);
+        }
+    }
+
+    /**
+     * Locate the files to compile: the main catalog, then its fragments.
+     *
+     * <p>This matches the order the settings plugin reads the same files in,
+     * so the compiled catalog is the one the build sees.</p>
+     */
+    private CatalogFragments.Locator locator() {
+        CatalogFragments.Locator locator = Collections::emptyList;
+        if (this.getCatalog().isPresent()) {
+            final File file = this.getCatalog().get().getAsFile();
+            final String name = file.getName();
+            final int dot = name.lastIndexOf('.');
+            final @Nullable ConfigProcessor<?, ?> format = dot == -1 ? null : ConfigFormats.byExtension(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+            if (format == null) {
+                throw new InvalidUserDataException("No configuration format is known for the version catalog " + file);
+            }
+            locator = CatalogFragments.file(format, file.toPath());
+        }
+        if (this.getFragmentsDirectory().isPresent()) {
+            locator = CatalogFragments.concat(locator, CatalogFragments.directory(this.getFragmentsDirectory().get().getAsFile().toPath(), "*"));
+        }
+        return locator;
+    }
+}
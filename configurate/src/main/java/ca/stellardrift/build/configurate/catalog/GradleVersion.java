@@ -23,8 +23,10 @@ import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializer;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @Value.Immutable
 @Value.Style(
@@ -110,26 +112,73 @@ interface GradleVersion {
 
         @Override
         public GradleVersion deserialize(Type type, ConfigurationNode node) throws SerializationException {
+            final @Nullable GradleVersion version = decode(node);
+            if (version == null) {
+                throw new SerializationException(node, GradleVersion.class, "No value present");
+            }
+            return version;
+        }
+
+        /**
+         * Read a version directly from a node, without going through a serializer collection lookup.
+         *
+         * @param node the node to read
+         * @return a version, or {@code null} if the node has no value
+         * @throws SerializationException if the node holds an invalid version
+         */
+        static @Nullable GradleVersion decode(final ConfigurationNode node) throws SerializationException {
             if (node.isList()) {
-                throw new SerializationException("A version specification must be as either a String or a mapping of parameters");
+                throw new SerializationException(node, GradleVersion.class, "A version specification must be as either a String or a mapping of parameters");
             }
             final Builder builder = new Builder();
             if (node.isMap()) {
-                // Complex metadata
-                builder.versionRef(node.node(VERSION_REF).getString())
-                .require(node.node(REQUIRE).getString())
-                .prefer(node.node(PREFER).getString())
-                .strictly(node.node(STRICTLY).getString())
-                .addAllRejectedVersions(node.node(REJECT).getList(String.class, Collections.emptyList()))
-                .rejectAll(node.node(REJECT_ALL).getBoolean(false));
+                // Complex metadata, visiting every child only once
+                for (final Map.Entry<Object, ? extends ConfigurationNode> entry : node.childrenMap().entrySet()) {
+                    final ConfigurationNode child = entry.getValue();
+                    switch (String.valueOf(entry.getKey())) {
+                        case VERSION_REF: builder.versionRef(child.getString()); break;
+                        case REQUIRE: builder.require(child.getString()); break;
+                        case PREFER: builder.prefer(child.getString()); break;
+                        case STRICTLY: builder.strictly(child.getString()); break;
+                        case REJECT: builder.addAllRejectedVersions(strings(child)); break;
+                        case REJECT_ALL: builder.rejectAll(child.getBoolean(false)); break;
+                        default: // unknown keys are ignored
+                    }
+                }
             } else {
-                parsePlain(node.getString(), builder);
+                final @Nullable String plain = node.getString();
+                if (plain == null) {
+                    return null;
+                }
+                parsePlain(plain, builder);
             }
 
             return builder.build();
         }
 
-        private void parsePlain(final String strictSpec, final Builder builder) throws SerializationException {
+        /**
+         * Read a list of strings, or a single string, from a node.
+         *
+         * @param node the node to read
+         * @return the strings
+         */
+        static List<String> strings(final ConfigurationNode node) {
+            if (node.isList()) {
+                final List<? extends ConfigurationNode> children = node.childrenList();
+                final List<String> values = new ArrayList<>(children.size());
+                for (final ConfigurationNode child : children) {
+                    final @Nullable String value = child.getString();
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+                return values;
+            }
+            final @Nullable String value = node.getString();
+            return value == null ? Collections.emptyList() : Collections.singletonList(value);
+        }
+
+        private static void parsePlain(final String strictSpec, final Builder builder) throws SerializationException {
             final int delimiter = strictSpec.indexOf(RICH_DELIMITER);
             if (delimiter == 0) {
                  // invalid
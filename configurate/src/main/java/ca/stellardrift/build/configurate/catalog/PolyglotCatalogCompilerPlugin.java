@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.catalog.CatalogPluginExtension;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * Compile a polyglot version catalog to TOML, so it can be consumed without
+ * the polyglot catalog plugin.
+ *
+ * <p>By default the catalog read by {@link PolyglotVersionCatalogPlugin} from
+ * the root project's {@code gradle} directory is compiled. When the
+ * {@code version-catalog} plugin is applied, the compiled catalog is what
+ * gets published.</p>
+ */
+public class PolyglotCatalogCompilerPlugin implements Plugin<Project> {
+    public static final String COMPILE_TASK_NAME = "compilePolyglotCatalog";
+    private static final String FRAGMENTS_DIRECTORY_NAME = "libs.versions.d";
+    private static final String GENERATE_CATALOG_TASK_NAME = "generateCatalogAsToml";
+
+    @Override
+    public void apply(final Project target) {
+        final File gradleDir = new File(target.getRootDir(), "gradle");
+        final TaskProvider<CompileVersionCatalog> compile = target.getTasks().register(COMPILE_TASK_NAME, CompileVersionCatalog.class, task -> {
+            task.getCatalog().convention(target.getLayout().file(target.provider(() -> defaultCatalog(gradleDir.toPath()))));
+            task.getFragmentsDirectory().convention(target.getLayout().dir(target.provider(() -> new File(gradleDir, FRAGMENTS_DIRECTORY_NAME))));
+            task.getDestination().convention(target.getLayout().getBuildDirectory().file("polyglot-catalog/libs.versions.toml"));
+        });
+
+        target.getPluginManager().withPlugin("version-catalog", plugin -> {
+            target.getExtensions().configure(CatalogPluginExtension.class, catalog -> catalog.versionCatalog(builder ->
+                builder.from(target.files(compile.flatMap(CompileVersionCatalog::getDestination)))));
+            target.getTasks().named(GENERATE_CATALOG_TASK_NAME).configure(task -> task.dependsOn(compile));
+        });
+    }
+
+    private static @Nullable File defaultCatalog(final Path gradleDir) {
+        final List<PolyglotVersionCatalogPlugin.Candidate> candidates = PolyglotVersionCatalogPlugin.findCatalogs(gradleDir);
+        return candidates.isEmpty() ? null : candidates.get(0).file.toFile();
+    }
+}
@@ -17,19 +17,20 @@ package ca.stellardrift.build.configurate.catalog;
 
 import ca.stellardrift.build.configurate.ConfigSource;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.Action;
-import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.initialization.Settings;
 import org.gradle.api.initialization.dsl.VersionCatalogBuilder;
 import org.gradle.api.initialization.resolve.MutableVersionCatalogContainer;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.plugin.use.PluginDependenciesSpec;
-import org.spongepowered.configurate.ConfigurationNode;
-import org.spongepowered.configurate.serialize.SerializationException;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -40,8 +41,22 @@ public abstract class PolyglotVersionCatalogExtension {
 
     public PolyglotVersionCatalogExtension(final Settings settings) {
         this.settings = settings;
+        this.getStreaming().convention(false);
     }
 
+    /**
+     * Whether to read catalogs entry by entry rather than as a whole document.
+     *
+     * <p>This lowers memory use for very large catalogs. It is only possible
+     * for JSON and YAML catalogs, and YAML catalogs without anchors; other
+     * catalogs are always read as a whole document.</p>
+     *
+     * <p>Defaults to {@code false}.</p>
+     *
+     * @return the streaming property
+     */
+    public abstract Property<Boolean> getStreaming();
+
     /**
      * Populate the default version catalog with the information from {@code file}.
      *
@@ -94,12 +109,82 @@ public abstract class PolyglotVersionCatalogExtension {
     public void populateCatalog(final String versionCatalog, final ConfigSource source, final Path file) {
         Objects.requireNonNull(source, "source");
         Objects.requireNonNull(file, "file");
-        final PluginDependenciesSpec plugins = this.settings.getPluginManagement().getPlugins();
+        this.populateCatalog(versionCatalog, CatalogFragments.file(source, file));
+    }
+
+    /**
+     * Populate the default version catalog with every file in {@code directory}.
+     *
+     * <p>The format of each file is chosen by its extension, and files without
+     * a known extension are ignored. See
+     * {@link #populateCatalogFromDirectory(String, Path, String)} for how
+     * files are combined.</p>
+     *
+     * @param directory the directory to read
+     */
+    public void fromDirectory(final File directory) {
+        this.fromDirectory(directory.toPath(), "*");
+    }
+
+    /**
+     * Populate the default version catalog with every file in {@code directory}.
+     *
+     * <p>The format of each file is chosen by its extension, and files without
+     * a known extension are ignored. See
+     * {@link #populateCatalogFromDirectory(String, Path, String)} for how
+     * files are combined.</p>
+     *
+     * @param directory the directory to read
+     */
+    public void fromDirectory(final Path directory) {
+        this.fromDirectory(directory, "*");
+    }
+
+    /**
+     * Populate the default version catalog with the files in {@code directory}
+     * that match {@code glob}.
+     *
+     * <p>See {@link #populateCatalogFromDirectory(String, Path, String)} for how
+     * files are combined.</p>
+     *
+     * @param directory the directory to read
+     * @param glob a pattern file names must match, like {@code *.yaml}
+     */
+    public void fromDirectory(final Path directory, final String glob) {
+        this.populateCatalogFromDirectory(
+            this.settings.getDependencyResolutionManagement().getDefaultLibrariesExtensionName().get(),
+            directory,
+            glob
+        );
+    }
+
+    /**
+     * Populate a version catalog from the files in {@code directory} that
+     * match {@code glob}.
+     *
+     * <p>The format of each file is chosen by its extension, and files without
+     * a known extension are ignored. Files are read in parallel, then merged
+     * in order of file name. Declaring the same alias in more than one file
+     * is an error.</p>
+     *
+     * <p>If {@code directory} doesn't exist, this will be a no-op.</p>
+     *
+     * @param versionCatalog the name of the builder to populate
+     * @param directory the directory to read
+     * @param glob a pattern file names must match, like {@code *.yaml}
+     */
+    public void populateCatalogFromDirectory(final String versionCatalog, final Path directory, final String glob) {
+        Objects.requireNonNull(directory, "directory");
+        Objects.requireNonNull(glob, "glob");
+        this.populateCatalog(versionCatalog, CatalogFragments.directory(directory, glob));
+    }
+
+    void populateCatalog(final String versionCatalog, final CatalogFragments.Locator fragments) {
         final MutableVersionCatalogContainer catalogs = this.settings.getDependencyResolutionManagement().getVersionCatalogs();
         if (catalogs.getNames().contains(versionCatalog)) {
-            catalogs.named(versionCatalog, new VersionCatalogBuilderConfigurationAction(source, file, plugins));
+            catalogs.named(versionCatalog, this.populateAction(fragments));
         } else {
-            catalogs.register(versionCatalog, new VersionCatalogBuilderConfigurationAction(source, file, plugins));
+            catalogs.register(versionCatalog, this.populateAction(fragments));
         }
     }
 
@@ -128,35 +213,83 @@ public abstract class PolyglotVersionCatalogExtension {
     public void populateCatalog(final VersionCatalogBuilder versionCatalog, final ConfigSource source, final Path file) {
         Objects.requireNonNull(source, "source");
         Objects.requireNonNull(file, "file");
-        final PluginDependenciesSpec plugins = this.settings.getPluginManagement().getPlugins();
-        new VersionCatalogBuilderConfigurationAction(source, file, plugins).execute(versionCatalog);
+        this.populateAction(CatalogFragments.file(source, file)).execute(versionCatalog);
+    }
+
+    private VersionCatalogBuilderConfigurationAction populateAction(final CatalogFragments.Locator fragments) {
+        return new VersionCatalogBuilderConfigurationAction(
+            fragments,
+            this.settings.getPluginManagement().getPlugins(),
+            this.cacheDirectory(),
+            this.getStreaming()
+        );
+    }
+
+    /**
+     * Get the directory parsed catalogs are cached in.
+     *
+     * <p>This is within the project cache directory, {@code .gradle} by default.</p>
+     *
+     * @return the catalog cache directory
+     */
+    private Path cacheDirectory() {
+        final @Nullable File projectCacheDir = this.settings.getStartParameter().getProjectCacheDir();
+        final File base = projectCacheDir != null ? projectCacheDir : new File(this.settings.getRootDir(), ".gradle");
+        return base.toPath().resolve("polyglot-catalogs");
     }
 
     static class VersionCatalogBuilderConfigurationAction implements Action<VersionCatalogBuilder> {
-        private final ConfigSource source;
-        private final Path file;
+        private final CatalogFragments.Locator fragments;
         private final PluginDependenciesSpec plugins;
+        private final @Nullable Path cacheDirectory;
+        private final Provider<Boolean> streaming;
 
-        VersionCatalogBuilderConfigurationAction(final ConfigSource source, final Path file, final PluginDependenciesSpec plugins) {
-            this.source = source;
-            this.file = file;
+        VersionCatalogBuilderConfigurationAction(
+            final CatalogFragments.Locator fragments,
+            final PluginDependenciesSpec plugins,
+            final @Nullable Path cacheDirectory,
+            final Provider<Boolean> streaming
+        ) {
+            this.fragments = fragments;
             this.plugins = plugins;
+            this.cacheDirectory = cacheDirectory;
+            this.streaming = streaming;
         }
 
         @Override
         public void execute(final @NonNull VersionCatalogBuilder builder) {
-            final VersionCatalogApplier app = new VersionCatalogApplier(builder, this.plugins);
-            try (final BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
-                final ConfigurationNode node = this.source.read(
-                        reader,
-                        opts -> opts.serializers(serializers -> serializers.register(GradleVersion.class, GradleVersion.Serializer.INSTANCE))
-                );
-                app.load(node);
-            } catch (final SerializationException ex) {
-                throw new InvalidUserDataException(ex.getMessage(), ex);
+            final CatalogModel model;
+            try {
+                final List<CatalogFragments.Fragment> fragments = this.fragments.locate();
+                if (fragments.isEmpty()) {
+                    return;
+                }
+                // resolved up front, since fragments are read on other threads
+                final boolean streaming = this.streaming.get();
+                model = CatalogFragments.readAll(fragments, fragment -> this.readModel(fragment, streaming));
             } catch (final IOException ex) {
                 throw new RuntimeException("Unable to read versions catalog", ex);
             }
+            model.applyTo(builder, this.plugins);
+        }
+
+        private CatalogModel readModel(final CatalogFragments.Fragment fragment, final boolean streaming) throws IOException {
+            final ConfigSource source = fragment.source;
+            final Path file = fragment.file;
+            final byte[] contents = Files.readAllBytes(file);
+            final @Nullable CatalogCache cache = this.cacheDirectory == null ? null : CatalogCache.create(this.cacheDirectory, source, file, contents, streaming);
+            if (cache != null) {
+                final @Nullable CatalogModel cached = cache.load();
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            final CatalogModel model = CatalogFragments.parse(source, file, contents, streaming);
+            if (cache != null) {
+                cache.store(model);
+            }
+            return model;
         }
     }
 }
@@ -18,8 +18,21 @@ package ca.stellardrift.build.configurate.catalog;
 import ca.stellardrift.build.configurate.ConfigFormats;
 import ca.stellardrift.build.configurate.ConfigProcessor;
 import ca.stellardrift.build.configurate.GradleVersionUtil;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.GradleException;
 import org.gradle.api.Plugin;
 import org.gradle.api.initialization.Settings;
@@ -41,9 +54,11 @@ public class PolyglotVersionCatalogPlugin implements Plugin<Settings> {
 
     private static final Logger LOGGER = Logging.getLogger(PolyglotVersionCatalogPlugin.class);
     private static final String DEPENDENCIES_FILE_NAME = "libs.versions";
+    private static final String FRAGMENTS_DIRECTORY_NAME = DEPENDENCIES_FILE_NAME + ".d";
 
     @Override
     public void apply(final Settings target) {
+        final long applyStart = System.nanoTime();
         final PolyglotVersionCatalogExtension deps = target.getExtensions()
                 .create("deps", PolyglotVersionCatalogExtension.class, target);
 
@@ -54,17 +69,120 @@ public class PolyglotVersionCatalogPlugin implements Plugin<Settings> {
 
         // Register a listener to register the dependencies for the first available format found, after evaluating the Settings
         target.getGradle().settingsEvaluated(settings -> {
+            final long discoveryStart = System.nanoTime();
             final Path gradleDir = settings.getRootDir().toPath().resolve("gradle");
-            for (final ConfigProcessor<?, ?> processor : ConfigFormats.all()) {
-                for (final String extension : processor.extensions()) {
-                    final Path candidate = gradleDir.resolve(DEPENDENCIES_FILE_NAME + "." + extension);
-                    if (Files.exists(candidate)) {
-                        LOGGER.info("Chose file {} for dependencies manifest", candidate);
-                        deps.from(processor, candidate);
-                        return;
-                    }
+            final Catalogs catalogs = discover(gradleDir);
+            final List<Candidate> candidates = catalogs.candidates;
+            final @Nullable Path fragmentsDir = catalogs.fragmentsDirectory;
+            if (candidates.isEmpty() && fragmentsDir == null) {
+                return;
+            }
+
+            @Nullable CatalogFragments.Locator fragments = null;
+            if (!candidates.isEmpty()) {
+                final Candidate chosen = candidates.get(0);
+                if (candidates.size() > 1) {
+                    LOGGER.warn(
+                        "Multiple version catalog files were found in {}: {}. Only {} will be used.",
+                        gradleDir,
+                        candidates.stream().map(c -> c.file.getFileName().toString()).collect(Collectors.joining(", ")),
+                        chosen.file.getFileName()
+                    );
                 }
+                LOGGER.info("Chose file {} for dependencies manifest", chosen.file);
+                fragments = CatalogFragments.file(chosen.processor, chosen.file);
             }
+            if (fragmentsDir != null) {
+                LOGGER.info("Adding dependencies manifest fragments from {}", fragmentsDir);
+                final CatalogFragments.Locator directory = CatalogFragments.directory(fragmentsDir, "*");
+                fragments = fragments == null ? directory : CatalogFragments.concat(fragments, directory);
+            }
+            deps.populateCatalog(settings.getDependencyResolutionManagement().getDefaultLibrariesExtensionName().get(), fragments);
+            LOGGER.debug("Discovered version catalogs in {} ms", millisSince(discoveryStart));
         });
+        LOGGER.debug("Applied the polyglot version catalog plugin in {} ms", millisSince(applyStart));
+    }
+
+    private static String millisSince(final long start) {
+        return String.format(Locale.ROOT, "%.2f", (System.nanoTime() - start) / 1_000_000d);
+    }
+
+    /**
+     * Find catalog files in a directory.
+     *
+     * @param gradleDir the directory to search
+     * @return candidate files, in order of preference
+     */
+    static List<Candidate> findCatalogs(final Path gradleDir) {
+        return discover(gradleDir).candidates;
+    }
+
+    /**
+     * Find catalog files and the fragments directory with a single listing.
+     *
+     * @param gradleDir the directory to search
+     * @return the catalogs found
+     */
+    static Catalogs discover(final Path gradleDir) {
+        final Map<String, Integer> priorities = new HashMap<>();
+        final Map<String, ConfigProcessor<?, ?>> byExtension = new HashMap<>();
+        for (final ConfigProcessor<?, ?> processor : ConfigFormats.all()) {
+            if (processor == ConfigFormats.TOML) {
+                // Gradle reads gradle/libs.versions.toml itself
+                continue;
+            }
+            for (final String extension : processor.extensions()) {
+                final String key = extension.toLowerCase(Locale.ROOT);
+                if (byExtension.putIfAbsent(key, processor) == null) {
+                    priorities.put(key, priorities.size());
+                }
+            }
+        }
+
+        final List<Candidate> candidates = new ArrayList<>();
+        @Nullable Path fragmentsDirectory = null;
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(gradleDir, DEPENDENCIES_FILE_NAME + ".*")) {
+            for (final Path file : files) {
+                if (file.getFileName().toString().equals(FRAGMENTS_DIRECTORY_NAME)) {
+                    // not checked to be a directory here, since listing its fragments will tell
+                    fragmentsDirectory = file;
+                    continue;
+                }
+                // extensions are matched without regard to case, as by ConfigFormats.byExtension
+                final String extension = file.getFileName().toString().substring(DEPENDENCIES_FILE_NAME.length() + 1).toLowerCase(Locale.ROOT);
+                final @Nullable ConfigProcessor<?, ?> processor = byExtension.get(extension);
+                if (processor != null && Files.isRegularFile(file)) {
+                    candidates.add(new Candidate(file, processor, priorities.get(extension)));
+                }
+            }
+        } catch (final NoSuchFileException | NotDirectoryException ex) {
+            return new Catalogs(Collections.emptyList(), null);
+        } catch (final IOException ex) {
+            throw new GradleException("Unable to search " + gradleDir + " for version catalogs", ex);
+        }
+        candidates.sort(Comparator.comparingInt(c -> c.priority));
+        return new Catalogs(candidates, fragmentsDirectory);
+    }
+
+    static final class Catalogs {
+        final List<Candidate> candidates;
+        final @Nullable Path fragmentsDirectory;
+
+        Catalogs(final List<Candidate> candidates, final @Nullable Path fragmentsDirectory) {
+            this.candidates = candidates;
+            this.fragmentsDirectory = fragmentsDirectory;
+        }
+    }
+
+    static final class Candidate {
+        final Path file;
+        final ConfigProcessor<?, ?> processor;
+        final int priority;
+
+        Candidate(final Path file, final ConfigProcessor<?, ?> processor, final int priority) {
+            this.file = file;
+            this.processor = processor;
+            this.priority = priority;
+        }
     }
 }
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import ca.stellardrift.build.configurate.ConfigFormatSpec;
+import ca.stellardrift.build.configurate.ConfigSource;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * Reads a catalog one entry at a time from a parser's event stream.
+ *
+ * <p>Rather than loading the whole document as a node, each alias is read into
+ * a small node of its own and handed to a {@link VersionCatalogApplier}, so
+ * memory use grows with the largest entry instead of the whole catalog.</p>
+ *
+ * <p>Event-based parsers are only available for JSON and YAML. Other formats,
+ * and YAML documents using anchors, must be read as a whole node.</p>
+ */
+abstract class StreamingCatalogReader {
+
+    private static final StreamingCatalogReader JSON = new Json(true);
+    private static final StreamingCatalogReader STRICT_JSON = new Json(false);
+    private static final StreamingCatalogReader YAML = new YamlEvents();
+
+    /**
+     * Get a streaming reader able to read the format of {@code source}.
+     *
+     * @param source the source a catalog would otherwise be read with
+     * @return a streaming reader, or {@code null} if the format cannot be streamed
+     */
+    static @Nullable StreamingCatalogReader forSource(final ConfigSource source) {
+        final @Nullable ConfigFormatSpec spec = CatalogCache.formatSpec(source);
+        if (spec == null) {
+            return null;
+        }
+
+        switch (spec.format()) {
+            case "json":
+                return "false".equals(spec.options().get("lenient")) ? STRICT_JSON : JSON;
+            case "yml":
+            case "yaml":
+                return YAML;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Read a catalog.
+     *
+     * <p>If this returns {@code false}, the applier may hold a partially
+     * read catalog and should be discarded.</p>
+     *
+     * @param reader the catalog contents
+     * @param applier the applier to pass entries to
+     * @return whether the catalog could be read, {@code false} if it uses
+     *     features that must be read as a whole node
+     * @throws IOException if the catalog is invalid or could not be read
+     */
+    final boolean read(final Reader reader, final VersionCatalogApplier applier) throws IOException {
+        final Target target = new Target(applier);
+        try {
+            this.read0(reader, target);
+        } catch (final Unsupported ex) {
+            return false;
+        }
+        target.finish();
+        return true;
+    }
+
+    abstract void read0(Reader reader, Target target) throws IOException;
+
+    static boolean isEntrySection(final String section) {
+        switch (section) {
+            case VersionCatalogApplier.DEPENDENCIES:
+            case VersionCatalogApplier.BUNDLES:
+            case VersionCatalogApplier.PLUGINS:
+            case VersionCatalogApplier.VERSIONS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Routes entries to an applier, holding back plugins until metadata has
+     * been seen since it decides how they are interpreted.
+     */
+    static final class Target {
+        private final VersionCatalogApplier applier;
+        private boolean metadataRead;
+        private final List<ConfigurationNode> deferredPlugins = new ArrayList<>();
+
+        Target(final VersionCatalogApplier applier) {
+            this.applier = applier;
+        }
+
+        ConfigurationNode metadataNode() {
+            return BasicConfigurationNode.root().node(VersionCatalogApplier.METADATA);
+        }
+
+        ConfigurationNode sectionNode(final String section) {
+            return BasicConfigurationNode.root().node(section);
+        }
+
+        ConfigurationNode entryNode(final String section, final String key) {
+            return BasicConfigurationNode.root().node(section, key);
+        }
+
+        void metadata(final ConfigurationNode metadata) throws SerializationException {
+            this.applier.metadata(metadata);
+            this.finish();
+        }
+
+        // a section that is not a map, which the applier will report
+        void section(final ConfigurationNode section) throws SerializationException {
+            this.applier.load(section.parent());
+        }
+
+        void entry(final String section, final String key, final ConfigurationNode value) throws SerializationException {
+            switch (section) {
+                case VersionCatalogApplier.DEPENDENCIES:
+                    this.applier.dependency(key, value);
+                    break;
+                case VersionCatalogApplier.BUNDLES:
+                    this.applier.bundle(key, value);
+                    break;
+                case VersionCatalogApplier.PLUGINS:
+                    if (this.metadataRead) {
+                        this.applier.plugin(key, value);
+                    } else {
+                        this.deferredPlugins.add(value);
+                    }
+                    break;
+                case VersionCatalogApplier.VERSIONS:
+                    this.applier.version(key, value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown section " + section);
+            }
+        }
+
+        void finish() throws SerializationException {
+            this.metadataRead = true;
+            for (final ConfigurationNode plugin : this.deferredPlugins) {
+                this.applier.plugin(String.valueOf(plugin.key()), plugin);
+            }
+            this.deferredPlugins.clear();
+        }
+    }
+
+    /**
+     * Thrown when a document uses features that can't be streamed.
+     */
+    static final class Unsupported extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+
+    static final class Json extends StreamingCatalogReader {
+        private final boolean lenient;
+
+        Json(final boolean lenient) {
+            this.lenient = lenient;
+        }
+
+        @Override
+        void read0(final Reader reader, final Target target) throws IOException {
+            final JsonReader json = new JsonReader(reader);
+            json.setLenient(this.lenient);
+            if (json.peek() == JsonToken.END_DOCUMENT) {
+                return;
+            }
+
+            json.beginObject();
+            while (json.hasNext()) {
+                final String section = json.nextName();
+                if (section.equals(VersionCatalogApplier.METADATA)) {
+                    final ConfigurationNode metadata = target.metadataNode();
+                    value(json, metadata);
+                    target.metadata(metadata);
+                } else if (!isEntrySection(section)) {
+                    json.skipValue();
+                } else if (json.peek() == JsonToken.BEGIN_OBJECT) {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        final String key = json.nextName();
+                        final ConfigurationNode entry = target.entryNode(section, key);
+                        value(json, entry);
+                        target.entry(section, key, entry);
+                    }
+                    json.endObject();
+                } else {
+                    final ConfigurationNode node = target.sectionNode(section);
+                    value(json, node);
+                    target.section(node);
+                }
+            }
+            json.endObject();
+        }
+
+        private static void value(final JsonReader json, final ConfigurationNode node) throws IOException {
+            switch (json.peek()) {
+                case BEGIN_OBJECT:
+                    json.beginObject();
+                    if (!json.hasNext()) {
+                        node.raw(Collections.emptyMap());
+                    }
+                    while (json.hasNext()) {
+                        value(json, node.node(json.nextName()));
+                    }
+                    json.endObject();
+                    break;
+                case BEGIN_ARRAY:
+                    json.beginArray();
+                    if (!json.hasNext()) {
+                        node.raw(Collections.emptyList());
+                    }
+                    while (json.hasNext()) {
+                        value(json, node.appendListNode());
+                    }
+                    json.endArray();
+                    break;
+                case BOOLEAN:
+                    node.raw(json.nextBoolean());
+                    break;
+                case NULL:
+                    json.nextNull();
+                    node.raw(null);
+                    break;
+                case NUMBER:
+                    node.raw(number(json.nextString()));
+                    break;
+                default:
+                    node.raw(json.nextString());
+            }
+        }
+
+        // numbers are read the same way as by the JSON loader, so `1.10` is the number 1.1 on both paths
+        private static Number number(final String literal) throws IOException {
+            try {
+                if (literal.contains(".")) {
+                    return Double.parseDouble(literal);
+                }
+                final long value = Long.parseLong(literal);
+                final int intValue = (int) value;
+                return intValue == value ? (Number) intValue : (Number) value;
+            } catch (final NumberFormatException ex) {
+                throw new IOException("Invalid number " + literal, ex);
+            }
+        }
+    }
+
+    static final class YamlEvents extends StreamingCatalogReader {
+        private static final Resolver RESOLVER = new Resolver();
+
+        @Override
+        void read0(final Reader reader, final Target target) throws IOException {
+            try {
+                this.read1(reader, target);
+            } catch (final YAMLException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            }
+        }
+
+        private void read1(final Reader reader, final Target target) throws IOException {
+            final Scalars scalars = new Scalars();
+            final Iterator<Event> events = new Yaml().parse(reader).iterator();
+            events.next(); // stream start
+            Event event = events.next();
+            if (event instanceof StreamEndEvent) {
+                return;
+            } else if (!(event instanceof DocumentStartEvent)) {
+                throw new IOException("Expected the start of a document, but got " + event);
+            }
+
+            event = events.next();
+            if (event instanceof ScalarEvent && scalars.construct((ScalarEvent) event) == null) {
+                return; // empty document
+            } else if (!(event instanceof MappingStartEvent)) {
+                throw new IOException("A version catalog must be a mapping at " + event.getStartMark());
+            }
+            checkAnchor(event);
+
+            while (!((event = events.next()) instanceof MappingEndEvent)) {
+                final String section = key(scalars, event);
+                if (section.equals(VersionCatalogApplier.METADATA)) {
+                    final ConfigurationNode metadata = target.metadataNode();
+                    value(scalars, events, events.next(), metadata);
+                    target.metadata(metadata);
+                } else if (!isEntrySection(section)) {
+                    value(scalars, events, events.next(), BasicConfigurationNode.root());
+                } else {
+                    final Event start = events.next();
+                    if (start instanceof MappingStartEvent) {
+                        checkAnchor(start);
+                        Event entryKey;
+                        while (!((entryKey = events.next()) instanceof MappingEndEvent)) {
+                            final String key = key(scalars, entryKey);
+                            final ConfigurationNode entry = target.entryNode(section, key);
+                            value(scalars, events, events.next(), entry);
+                            target.entry(section, key, entry);
+                        }
+                    } else {
+                        final ConfigurationNode node = target.sectionNode(section);
+                        value(scalars, events, start, node);
+                        target.section(node);
+                    }
+                }
+            }
+            // only the first document is read, as with the YAML loader
+        }
+
+        private static void value(final Scalars scalars, final Iterator<Event> events, final Event start, final ConfigurationNode node) {
+            checkAnchor(start);
+            if (start instanceof ScalarEvent) {
+                node.raw(scalars.construct((ScalarEvent) start));
+            } else if (start instanceof SequenceStartEvent) {
+                Event event;
+                boolean empty = true;
+                while (!((event = events.next()) instanceof SequenceEndEvent)) {
+                    value(scalars, events, event, node.appendListNode());
+                    empty = false;
+                }
+                if (empty) {
+                    node.raw(Collections.emptyList());
+                }
+            } else if (start instanceof MappingStartEvent) {
+                Event event;
+                boolean empty = true;
+                while (!((event = events.next()) instanceof MappingEndEvent)) {
+                    value(scalars, events, events.next(), node.node(key(scalars, event)));
+                    empty = false;
+                }
+                if (empty) {
+                    node.raw(Collections.emptyMap());
+                }
+            } else {
+                throw new Unsupported();
+            }
+        }
+
+        private static String key(final Scalars scalars, final Event event) {
+            checkAnchor(event);
+            if (!(event instanceof ScalarEvent)) {
+                throw new Unsupported(); // complex keys
+            }
+            return String.valueOf(scalars.construct((ScalarEvent) event));
+        }
+
+        private static void checkAnchor(final Event event) {
+            // anchors and aliases can refer to any earlier part of the document
+            if (event instanceof AliasEvent || event instanceof NodeEvent && ((NodeEvent) event).getAnchor() != null) {
+                throw new Unsupported();
+            }
+        }
+
+        /**
+         * Builds scalar values with SnakeYAML's own resolver and constructors,
+         * as the YAML loader does when reading a whole document, so that
+         * {@code 1.10} is the number 1.1 whether or not a catalog is streamed.
+         *
+         * <p>Some constructors keep state, so instances must not be shared
+         * between threads.</p>
+         */
+        static final class Scalars extends SafeConstructor {
+
+            @Nullable Object construct(final ScalarEvent event) {
+                final @Nullable String explicitTag = event.getTag();
+                final Tag tag = explicitTag == null || explicitTag.equals("!")
+                    ? RESOLVER.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar())
+                    : new Tag(explicitTag);
+                final ScalarNode node = new ScalarNode(tag, true, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle());
+                return this.getConstructor(node).construct(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Writes a {@link CatalogModel} in Gradle's own TOML catalog format.
+ *
+ * <p>Legacy settings plugin declarations have no TOML equivalent, and
+ * are not written.</p>
+ */
+final class TomlCatalogWriter {
+    private static final Pattern BARE_KEY = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Writer out;
+    private boolean firstSection = true;
+
+    TomlCatalogWriter(final Writer out) {
+        this.out = out;
+    }
+
+    void write(final CatalogModel model) throws IOException {
+        if (!model.versions.isEmpty()) {
+            this.section("versions");
+            for (final Map.Entry<String, GradleVersion> entry : model.versions.entrySet()) {
+                this.key(entry.getKey());
+                this.version(entry.getValue());
+                this.out.write('\n');
+            }
+        }
+
+        if (!model.libraries.isEmpty()) {
+            this.section("libraries");
+            for (final Map.Entry<String, CatalogModel.Library> entry : model.libraries.entrySet()) {
+                final CatalogModel.Library library = entry.getValue();
+                this.key(entry.getKey());
+                if (library.notation != null) {
+                    this.string(library.notation);
+                } else {
+                    this.out.write("{ group = ");
+                    this.string(library.group);
+                    this.out.write(", name = ");
+                    this.string(library.name);
+                    this.versionField(library.version);
+                    this.out.write(" }");
+                }
+                this.out.write('\n');
+            }
+        }
+
+        if (!model.bundles.isEmpty()) {
+            this.section("bundles");
+            for (final Map.Entry<String, List<String>> entry : model.bundles.entrySet()) {
+                this.key(entry.getKey());
+                this.list(entry.getValue());
+                this.out.write('\n');
+            }
+        }
+
+        if (!model.plugins.isEmpty()) {
+            this.section("plugins");
+            for (final Map.Entry<String, CatalogModel.Plugin> entry : model.plugins.entrySet()) {
+                final CatalogModel.Plugin plugin = entry.getValue();
+                this.key(entry.getKey());
+                this.out.write("{ id = ");
+                this.string(plugin.id);
+                if (plugin.notation != null) {
+                    this.out.write(", version = ");
+                    this.string(plugin.notation);
+                } else {
+                    this.versionField(plugin.version);
+                }
+                this.out.write(" }\n");
+            }
+        }
+    }
+
+    private void section(final String name) throws IOException {
+        // sections are separated by a blank line, without one before the first
+        if (!this.firstSection) {
+            this.out.write('\n');
+        }
+        this.firstSection = false;
+        this.out.write('[');
+        this.out.write(name);
+        this.out.write("]\n");
+    }
+
+    private void key(final String key) throws IOException {
+        if (BARE_KEY.matcher(key).matches()) {
+            this.out.write(key);
+        } else {
+            this.string(key);
+        }
+        this.out.write(" = ");
+    }
+
+    // Gradle's TOML parser rejects an empty version table, so entries without any constraint have no version key
+    private void versionField(final @Nullable GradleVersion version) throws IOException {
+        if (version == null || isEmpty(version)) {
+            return;
+        }
+        if (version.versionRef() != null) {
+            this.out.write(", version.ref = ");
+            this.string(version.versionRef());
+        } else {
+            this.out.write(", version = ");
+            this.version(version);
+        }
+    }
+
+    private static boolean isEmpty(final GradleVersion version) {
+        return version.versionRef() == null
+            && version.require() == null
+            && version.strictly() == null
+            && version.prefer() == null
+            && version.rejectedVersions().isEmpty()
+            && !version.rejectAll();
+    }
+
+    private void version(final GradleVersion version) throws IOException {
+        if (version.strictly() == null && version.prefer() == null && version.rejectedVersions().isEmpty() && !version.rejectAll()) {
+            if (version.require() != null) {
+                this.string(version.require());
+                return;
+            }
+        }
+
+        this.out.write('{');
+        boolean first = true;
+        first = this.versionPart(first, "require", version.require());
+        first = this.versionPart(first, "strictly", version.strictly());
+        first = this.versionPart(first, "prefer", version.prefer());
+        if (!version.rejectedVersions().isEmpty()) {
+            this.out.write(first ? " reject = " : ", reject = ");
+            this.list(version.rejectedVersions());
+            first = false;
+        }
+        if (version.rejectAll()) {
+            this.out.write(first ? " rejectAll = true" : ", rejectAll = true");
+            first = false;
+        }
+        this.out.write(first ? "}" : " }");
+    }
+
+    private boolean versionPart(final boolean first, final String key, final @Nullable String value) throws IOException {
+        if (value == null) {
+            return first;
+        }
+        this.out.write(first ? " " : ", ");
+        this.out.write(key);
+        this.out.write(" = ");
+        this.string(value);
+        return false;
+    }
+
+    private void list(final List<String> values) throws IOException {
+        this.out.write('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i != 0) {
+                this.out.write(", ");
+            }
+            this.string(values.get(i));
+        }
+        this.out.write(']');
+    }
+
+    private void string(final @Nullable String value) throws IOException {
+        if (value == null) {
+            throw new IOException("Catalog entries cannot contain null values");
+        }
+        this.out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"': this.out.write("\\\""); break;
+                case '\\': this.out.write("\\\\"); break;
+                case '\n': this.out.write("\\n"); break;
+                case '\r': this.out.write("\\r"); break;
+                case '\t': this.out.write("\\t"); break;
+                default:
+                    if (c < 0x20 || c == 0x7f) {
+                        this.out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        this.out.write(c);
+                    }
+            }
+        }
+        this.out.write('"');
+    }
+}
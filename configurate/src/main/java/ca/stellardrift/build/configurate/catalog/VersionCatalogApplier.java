@@ -22,42 +22,35 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.initialization.dsl.VersionCatalogBuilder;
-import org.gradle.plugin.use.PluginDependenciesSpec;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.serialize.SerializationException;
 
 /**
- * Applies data from a configuration node to the Gradle model.
+ * Reads data from a configuration node into a {@link CatalogModel}.
  */
 final class VersionCatalogApplier {
 
-    private static final String METADATA = "metadata";
-    private static final String DEPENDENCIES = "dependencies";
-    private static final String BUNDLES = "bundles";
-    private static final String PLUGINS = "plugins";
-    private static final String VERSIONS = "versions";
-
-    private static final Pattern COLON = Pattern.compile(":", Pattern.LITERAL);
+    static final String METADATA = "metadata";
+    static final String DEPENDENCIES = "dependencies";
+    static final String BUNDLES = "bundles";
+    static final String PLUGINS = "plugins";
+    static final String VERSIONS = "versions";
 
     private static final Type MAP_STRING_STRING = TypeFactory.parameterizedClass(Map.class, String.class, String.class);
     private static final Type MAP_STRING_LIST_STRING = TypeFactory.parameterizedClass(Map.class, String.class, TypeFactory.parameterizedClass(List.class, String.class));
     private static final Type MAP_STRING_GRADLEVERSION = TypeFactory.parameterizedClass(Map.class, String.class, GradleVersion.class);
 
-    private final VersionCatalogBuilder builder;
-    private final PluginDependenciesSpec plugins;
+    private final CatalogModel model;
     private final Set<FormatExtension> enabledExtensions = EnumSet.noneOf(FormatExtension.class);
 
-    public VersionCatalogApplier(final VersionCatalogBuilder builder, final PluginDependenciesSpec plugins) {
-        this.builder = builder;
-        this.plugins = plugins;
+    public VersionCatalogApplier(final CatalogModel model) {
+        this.model = model;
     }
 
     /**
-     * Load a node into the Gradle dependencies model.
+     * Load a node into the catalog model.
      *
      * @param node node to load
      * @throws SerializationException if information is provided in an invalid format
@@ -94,7 +87,15 @@ final class VersionCatalogApplier {
         }
     }
 
-    private void metadata(final ConfigurationNode metadata) throws SerializationException {
+    /**
+     * Read catalog metadata.
+     *
+     * <p>This must be called before any plugins are read.</p>
+     *
+     * @param metadata the metadata node
+     * @throws SerializationException if the metadata is invalid
+     */
+    void metadata(final ConfigurationNode metadata) throws SerializationException {
        final String formatVersion = metadata.node("format", "version").getString();
        if (formatVersion != null && !formatVersion.equals(PolyglotVersionCatalogPlugin.FORMAT_VERSION)) {
            throw new SerializationException(metadata.parent(), VersionCatalogBuilder.class,
@@ -113,65 +114,68 @@ final class VersionCatalogApplier {
         }
 
         for (final Map.Entry<Object, ? extends ConfigurationNode> entry : dependencies.childrenMap().entrySet()) {
-            final String alias = String.valueOf(entry.getKey());
-            final ConfigurationNode dep = entry.getValue();
-
-            if (dep.isMap()) { // TODO: read values from attributes in an AttributedConfigurationNode
-                final @Nullable String group = dep.node("group").getString();
-                @Nullable String name = dep.node("name").getString();
-                if (name == null && dep.hasChild("artifact")) {
-                    name = dep.node("artifact").getString();
-                }
-                final String moduleInfo = dep.node("module").getString(); // <group>:<name>
-                final @Nullable GradleVersion version = dep.node("version").get(GradleVersion.class);
-                final VersionCatalogBuilder.LibraryAliasBuilder build;
-                if (group == null || name == null) {
-                    if (moduleInfo == null) {
-                        throw new SerializationException(dep, VersionCatalogBuilder.LibraryAliasBuilder.class, "Either group and name, or module fields must be specified for an alias!");
-                    }
-                    if (group != null || name != null) {
-                        throw new SerializationException(dep, VersionCatalogBuilder.LibraryAliasBuilder.class, "If the 'module' key is used, the 'group' and 'name' fields cannot be specified as they are redundant.");
-                    }
-                    final String[] elements = moduleInfo.split(":");
-                    if (elements.length == 3 && version == null) {
-                        this.library(alias, moduleInfo);
-                        continue;
-                    } else if (elements.length < 2) {
-                        throw new SerializationException(dep, VersionCatalogBuilder.LibraryAliasBuilder.class, "A module specification must be in group:artifact[:version] format. To specify element separately, use the 'group' and 'name' keys in the map.");
-                    }
-                    build = this.library(alias, elements[0], elements[1]);
-                } else {
-                    build = this.library(alias, group, name);
-                }
-                if (version == null) {
-                    build.withoutVersion();
-                    continue;
-                }
+            this.dependency(String.valueOf(entry.getKey()), entry.getValue());
+        }
+    }
 
-                final @Nullable String versionRef = version.versionRef();
-                if (versionRef != null) {
-                    build.versionRef(versionRef);
-                } else {
-                    build.version(version::applyTo);
-                }
-            } else {
-                final String gav = dep.getString();
-                if (gav == null) {
-                    throw new SerializationException(dep, String.class, "Unable to get a String or Map value for a dependency");
-                }
-                this.library(alias, gav);
+    /**
+     * Read a single entry of the {@code dependencies} section.
+     *
+     * @param alias the library alias
+     * @param dep the library declaration
+     * @throws SerializationException if the declaration is invalid
+     */
+    void dependency(final String alias, final ConfigurationNode dep) throws SerializationException {
+        if (dep.isMap()) { // TODO: read values from attributes in an AttributedConfigurationNode
+            this.model.libraries.put(alias, library(dep));
+        } else {
+            final String gav = dep.getString();
+            if (gav == null) {
+                throw new SerializationException(dep, String.class, "Unable to get a String or Map value for a dependency");
             }
+            this.model.libraries.put(alias, CatalogModel.Library.notation(gav));
         }
     }
 
-    @SuppressWarnings("deprecation")
-    private void library(final String alias, final String gav) {
-        this.builder.library(alias, gav);
-    }
+    // Visits each child of the alias once, rather than resolving every known key as a separate node
+    private static CatalogModel.Library library(final ConfigurationNode dep) throws SerializationException {
+        @Nullable String group = null;
+        @Nullable String name = null;
+        @Nullable String artifact = null;
+        @Nullable String moduleInfo = null; // <group>:<name>
+        @Nullable GradleVersion version = null;
+        for (final Map.Entry<Object, ? extends ConfigurationNode> child : dep.childrenMap().entrySet()) {
+            switch (String.valueOf(child.getKey())) {
+                case "group": group = child.getValue().getString(); break;
+                case "name": name = child.getValue().getString(); break;
+                case "artifact": artifact = child.getValue().getString(); break;
+                case "module": moduleInfo = child.getValue().getString(); break;
+                case "version": version = GradleVersion.Serializer.decode(child.getValue()); break;
+                default: // unknown keys are ignored
+            }
+        }
+        if (name == null) {
+            name = artifact;
+        }
 
-    @SuppressWarnings("deprecation")
-    private VersionCatalogBuilder.LibraryAliasBuilder library(final String alias, final String group, final String name) {
-        return this.builder.library(alias, group, name);
+        if (group != null && name != null) {
+            return CatalogModel.Library.coordinates(group, name, version);
+        }
+        if (moduleInfo == null) {
+            throw new SerializationException(dep, VersionCatalogBuilder.LibraryAliasBuilder.class, "Either group and name, or module fields must be specified for an alias!");
+        }
+        if (group != null || name != null) {
+            throw new SerializationException(dep, VersionCatalogBuilder.LibraryAliasBuilder.class, "If the 'module' key is used, the 'group' and 'name' fields cannot be specified as they are redundant.");
+        }
+        // trailing empty segments are dropped, so "group:name:" has no version
+        final String[] elements = moduleInfo.split(":");
+        if (elements.length < 2 || elements.length > 3 || elements[0].isEmpty() || elements[1].isEmpty()) {
+            throw new SerializationException(dep, VersionCatalogBuilder.LibraryAliasBuilder.class, "A module specification must be in group:artifact[:version] format. To specify element separately, use the 'group' and 'name' keys in the map.");
+        }
+        if (elements.length == 3 && version == null) {
+            return CatalogModel.Library.notation(elements[0] + ':' + elements[1] + ':' + elements[2]);
+        }
+        return CatalogModel.Library.coordinates(elements[0], elements[1], version);
     }
 
     private void bundles(final ConfigurationNode bundles) throws SerializationException {
@@ -181,17 +185,42 @@ final class VersionCatalogApplier {
 
         // TODO: Support anonymous aliases for more convenient specification
         for (final Map.Entry<Object, ? extends ConfigurationNode> entry : bundles.childrenMap().entrySet()) {
-            this.builder.bundle(String.valueOf(entry.getKey()), entry.getValue().getList(String.class, Collections.emptyList()));
+            this.bundle(String.valueOf(entry.getKey()), entry.getValue());
         }
     }
 
+    /**
+     * Read a single entry of the {@code bundles} section.
+     *
+     * @param name the bundle name
+     * @param bundle the aliases in the bundle
+     */
+    void bundle(final String name, final ConfigurationNode bundle) {
+        this.model.bundles.put(name, GradleVersion.Serializer.strings(bundle));
+    }
+
     // A map of String plugin id => String version
     private void legacyPlugins(final ConfigurationNode plugins) throws SerializationException {
         if (!plugins.isMap()) {
             throw new SerializationException(plugins, MAP_STRING_STRING, "Plugins must be specified as a map of id => version");
         }
         for (final Map.Entry<Object, ? extends ConfigurationNode> entry : plugins.childrenMap().entrySet()) {
-            this.plugins.id(String.valueOf(entry.getKey())).version(entry.getValue().get(String.class));
+            this.model.legacyPlugins.put(String.valueOf(entry.getKey()), entry.getValue().getString());
+        }
+    }
+
+    /**
+     * Read a single entry of the {@code plugins} section.
+     *
+     * @param alias the plugin alias, or id for legacy plugins
+     * @param plugin the plugin declaration
+     * @throws SerializationException if the declaration is invalid
+     */
+    void plugin(final String alias, final ConfigurationNode plugin) throws SerializationException {
+        if (this.enabledExtensions.contains(FormatExtension.PLUGINS)) {
+            this.model.legacyPlugins.put(alias, plugin.getString());
+        } else {
+            this.aliasedPlugin(alias, plugin);
         }
     }
 
@@ -200,26 +229,37 @@ final class VersionCatalogApplier {
             throw new SerializationException(plugins, Map.class, "Plugins must be specified as a map of alias => version");
         }
         for (final Map.Entry<Object, ? extends ConfigurationNode> entry : plugins.childrenMap().entrySet()) {
-            final String alias = String.valueOf(entry.getKey());
-            if (entry.getValue().isMap()) {
-                final String id = entry.getValue().node("id").require(String.class);
-                final @Nullable GradleVersion version = entry.getValue().node("version").get(GradleVersion.class);
-                final VersionCatalogBuilder.PluginAliasBuilder plugin = this.builder.plugin(alias, id);
-                if (version != null) {
-                    if (version.versionRef() != null) {
-                        plugin.versionRef(version.versionRef());
-                    } else {
-                        plugin.version(version::applyTo);
-                    }
-                }
-            } else {
-                final String[] split = COLON.split(entry.getValue().getString(), -1);
-                if (split.length == 1) {
-                    this.builder.plugin(alias, split[0]);
-                } else if (split.length == 2) {
-                    this.builder.plugin(alias, split[0]).version(split[1]);
+            this.aliasedPlugin(String.valueOf(entry.getKey()), entry.getValue());
+        }
+    }
+
+    // A map of alias => id[:version] or {id, version}
+    private void aliasedPlugin(final String alias, final ConfigurationNode plugin) throws SerializationException {
+        if (plugin.isMap()) {
+            @Nullable String id = null;
+            @Nullable GradleVersion version = null;
+            for (final Map.Entry<Object, ? extends ConfigurationNode> child : plugin.childrenMap().entrySet()) {
+                switch (String.valueOf(child.getKey())) {
+                    case "id": id = child.getValue().getString(); break;
+                    case "version": version = GradleVersion.Serializer.decode(child.getValue()); break;
+                    default: // unknown keys are ignored
                 }
             }
+            if (id == null) {
+                throw new SerializationException(plugin.node("id"), String.class, "A value is required for this field");
+            }
+            this.model.plugins.put(alias, CatalogModel.Plugin.rich(id, version));
+        } else {
+            final @Nullable String notation = plugin.getString();
+            if (notation == null) {
+                return;
+            }
+            final int idEnd = notation.indexOf(':');
+            if (idEnd == -1) {
+                this.model.plugins.put(alias, CatalogModel.Plugin.notation(notation, null));
+            } else if (notation.indexOf(':', idEnd + 1) == -1) {
+                this.model.plugins.put(alias, CatalogModel.Plugin.notation(notation.substring(0, idEnd), notation.substring(idEnd + 1)));
+            }
         }
     }
 
@@ -229,24 +269,31 @@ final class VersionCatalogApplier {
         }
 
         for (final Map.Entry<Object, ? extends ConfigurationNode> entry : versions.childrenMap().entrySet()) {
-            final String reference = String.valueOf(entry.getKey()); // TODO: Do we need to do validation on this? or can Gradle
-            final GradleVersion version = entry.getValue().get(GradleVersion.class);
+            this.version(String.valueOf(entry.getKey()), entry.getValue());
+        }
+    }
 
-            if (version == null) {
-                throw new SerializationException(entry.getValue(), GradleVersion.class, "Must have a non-null version value");
-            }
+    /**
+     * Read a single entry of the {@code versions} section.
+     *
+     * @param reference the version reference name
+     * @param node the version specification
+     * @throws SerializationException if the version is invalid
+     */
+    void version(final String reference, final ConfigurationNode node) throws SerializationException {
+        // TODO: Do we need to do validation on the reference? or can Gradle
+        final @Nullable GradleVersion version = GradleVersion.Serializer.decode(node);
 
-            if (version.versionRef() != null) {
-                // TODO: Maybe enable this?
-                throw new SerializationException(entry.getValue(), GradleVersion.class, "Version reference cannot point to another reference");
-            }
+        if (version == null) {
+            throw new SerializationException(node, GradleVersion.class, "Must have a non-null version value");
+        }
 
-            try {
-                this.builder.version(reference, version::applyTo);
-            } catch (final InvalidUserDataException ex) {
-                throw new SerializationException(entry.getValue(), GradleVersion.class, ex.getMessage(), ex.getCause());
-            }
+        if (version.versionRef() != null) {
+            // TODO: Maybe enable this?
+            throw new SerializationException(node, GradleVersion.class, "Version reference cannot point to another reference");
         }
+
+        this.model.versions.put(reference, version);
     }
 
 }
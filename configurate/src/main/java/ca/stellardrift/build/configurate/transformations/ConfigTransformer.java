@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.transformations;
+
+import org.gradle.api.Action;
+import org.spongepowered.configurate.ConfigurationNode;
+
+/**
+ * A transformation of a configuration node that reports whether it changed
+ * the node.
+ *
+ * <p>When a filter reads and writes the same format, content that a
+ * transformer reports as unchanged is passed through exactly as it was read,
+ * rather than being written out again. Plain {@link Action}s are checked for
+ * changes by fingerprinting the node before and after they run, which a
+ * transformer that knows whether it changed anything can skip.</p>
+ */
+@FunctionalInterface
+public interface ConfigTransformer extends Action<ConfigurationNode> {
+
+    /**
+     * Transform a node.
+     *
+     * @param node the node to transform
+     * @return whether the node was changed
+     */
+    boolean transform(ConfigurationNode node);
+
+    @Override
+    default void execute(final ConfigurationNode node) {
+        this.transform(node);
+    }
+}
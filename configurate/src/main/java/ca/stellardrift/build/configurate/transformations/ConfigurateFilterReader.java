@@ -21,16 +21,24 @@ import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.Action;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.spongepowered.configurate.ConfigurationNode;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * An implementation of {@link FilterReader} that transforms
  * the read content from one configuration format to another.
+ *
+ * <p>When the source and destination are the same format, and the
+ * transformer leaves the node unchanged, the original content is passed
+ * through untouched instead of being written again.</p>
  */
 public class ConfigurateFilterReader extends FilterReader {
 
@@ -38,14 +46,17 @@ public class ConfigurateFilterReader extends FilterReader {
     public static final String PARAM_DEST = "dest";
     public static final String PARAM_TRANSFORMER = "transformer";
 
+    private static final Logger LOGGER = Logging.getLogger(ConfigurateFilterReader.class);
+
     private final Reader original;
 
-    // Configurate loaders operate on entire files
-    // This isn't super efficient, but it's a start
+    // Configurate loaders operate on entire files, so the converted output is
+    // held as characters and drained directly, without a byte encoding round trip
     private @MonotonicNonNull ConfigSource source;
     private @MonotonicNonNull ConfigTarget dest;
     private @Nullable Action<ConfigurationNode> transformer;
     private boolean setUp = false;
+    private boolean dirty = false;
 
     /**
      * Creates a new filtered reader.
@@ -70,23 +81,70 @@ public class ConfigurateFilterReader extends FilterReader {
         this.transformer = func;
     }
 
+    /**
+     * Get whether the content was rewritten by the destination format.
+     *
+     * <p>This is {@code false} until the content is first read, and remains
+     * {@code false} if a transformation left the node unchanged.</p>
+     *
+     * @return whether the content was rewritten
+     */
+    public boolean dirty() {
+        return this.dirty;
+    }
+
     private void transformIfSetUp() throws IOException {
         if (!this.setUp) { // only do it once
             if (this.source != null && this.dest != null) { // let's go!
                 this.setUp = true;
+                if (this.transformer != null && this.source.equals(this.dest)) {
+                    this.transformInPlace(this.source, this.dest, this.transformer);
+                    return;
+                }
+
                 final ConfigurationNode node = this.source.read(this.in);
                 if (this.transformer != null) {
                     this.transformer.execute(node);
                 }
-                final TrustedByteArrayOutput holder = new TrustedByteArrayOutput();
-                try (final Writer writer = new OutputStreamWriter(holder, StandardCharsets.UTF_8)) {
-                    this.dest.write(writer, node);
-                }
-                this.in = new InputStreamReader(holder.toInputStream(), StandardCharsets.UTF_8);
+                this.write(this.dest, node);
             }
         }
     }
 
+    private void transformInPlace(final ConfigSource source, final ConfigTarget dest, final Action<ConfigurationNode> transformer) throws IOException {
+        // Hold on to the original content, in case it can be passed through
+        final TrustedCharArrayWriter original = new TrustedCharArrayWriter();
+        final char[] buffer = new char[8192];
+        int read;
+        while ((read = this.in.read(buffer)) != -1) {
+            original.write(buffer, 0, read);
+        }
+
+        final ConfigurationNode node = source.read(original.toReader());
+        final boolean changed;
+        if (transformer instanceof ConfigTransformer) {
+            changed = ((ConfigTransformer) transformer).transform(node);
+        } else {
+            final byte[] before = NodeFingerprint.of(node);
+            transformer.execute(node);
+            changed = !Arrays.equals(before, NodeFingerprint.of(node));
+        }
+
+        if (!changed) {
+            LOGGER.debug("Configuration transformer made no changes, passing {} characters through unchanged", original.size());
+            this.in = original.toReader();
+        } else {
+            this.write(dest, node);
+        }
+    }
+
+    private void write(final ConfigTarget dest, final ConfigurationNode node) throws IOException {
+        final TrustedCharArrayWriter holder = new TrustedCharArrayWriter();
+        dest.write(holder, node);
+        this.in = holder.toReader();
+        this.dirty = true;
+    }
+
     private void requireSetUp() throws IOException {
         if (!this.setUp) {
             transformIfSetUp();
@@ -17,15 +17,20 @@ package ca.stellardrift.build.configurate.transformations;
 
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.plugins.ExtraPropertiesExtension;
 
 /**
  * A plugin that applies transformations using configurate.
  *
- * The plugin itself doesn't do anything, it's just a tool to get utility functions onto the buildscript classpath.
+ * <p>The plugin gets utility functions onto the buildscript classpath, and exposes
+ * the {@link ConvertConfigurations} and {@link ValidateConfigurations} task types to buildscripts.</p>
  */
 public class ConfigurateTransformationsPlugin implements Plugin<Project> {
     @Override
-    public void apply(Project project) {
-
+    public void apply(final Project project) {
+        // Make task types available in Groovy buildscripts without an import
+        final ExtraPropertiesExtension extra = project.getExtensions().getExtraProperties();
+        extra.set(ConvertConfigurations.class.getSimpleName(), ConvertConfigurations.class);
+        extra.set(ValidateConfigurations.class.getSimpleName(), ValidateConfigurations.class);
     }
 }
@@ -20,10 +20,8 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.FilterReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.nio.charset.StandardCharsets;
+import java.io.Writer;
 
 public class ConfigurateValidationReader extends FilterReader {
 
@@ -43,24 +41,98 @@ public class ConfigurateValidationReader extends FilterReader {
     }
 
 
-    // when configured, read, validate, and set in to new ByteArrayStream
+    /**
+     * Validate the contents of the underlying reader against {@code format}.
+     *
+     * <p>The original content is recorded while the format parses it, and
+     * then replayed unchanged to downstream readers.</p>
+     *
+     * @param format the format to validate against
+     * @throws IOException if the content could not be read or is invalid
+     */
     public void format(final ConfigSource format) throws IOException {
-        final TrustedByteArrayOutput output = new TrustedByteArrayOutput();
-        try (final OutputStreamWriter writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
-            final char[] buffer = new char[2048];
-            int read = this.original.read(buffer);
-            while (read != -1) {
-                writer.write(buffer, 0, read);
-                read = this.original.read(buffer);
+        final TrustedCharArrayWriter holder = new TrustedCharArrayWriter();
+        // Will throw exception on failure
+        try (final Reader reader = new TeeReader(this.original, holder)) {
+            format.read(reader);
+        }
+
+        // And replay the original characters
+        this.in = holder.toReader();
+    }
+
+    /**
+     * A reader that records every character read from its source.
+     */
+    static final class TeeReader extends FilterReader {
+        private final Writer sink;
+        private boolean closed;
+
+        TeeReader(final Reader in, final Writer sink) {
+            super(in);
+            this.sink = sink;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read != -1) {
+                this.sink.write(read);
             }
+            return read;
         }
 
-        // Will throw exception on failure
-        try (final Reader reader = new InputStreamReader(output.toInputStream(), StandardCharsets.UTF_8)) {
-            format.read(reader);
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            final int read = super.read(cbuf, off, len);
+            if (read > 0) {
+                this.sink.write(cbuf, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            // skipped characters still have to be replayed
+            final char[] buffer = new char[(int) Math.min(n, 2048)];
+            long remaining = n;
+            while (remaining > 0) {
+                final int read = this.read(buffer, 0, (int) Math.min(remaining, buffer.length));
+                if (read == -1) {
+                    break;
+                }
+                remaining -= read;
+            }
+            return n - remaining;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
         }
 
-        // And go back to an input stream from the original
-        this.in = new InputStreamReader(output.toInputStream());
+        @Override
+        public void mark(final int readAheadLimit) throws IOException {
+            throw new IOException("mark() not supported");
+        }
+
+        @Override
+        public void reset() throws IOException {
+            throw new IOException("reset() not supported");
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) { // loaders close their source themselves
+                return;
+            }
+            this.closed = true;
+            // the format may stop before the end of the content, so record whatever is left
+            final char[] buffer = new char[2048];
+            while (this.read(buffer, 0, buffer.length) != -1) {
+                // drain
+            }
+            super.close();
+        }
     }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.transformations;
+
+import ca.stellardrift.build.configurate.ConfigProcessor;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.spongepowered.configurate.ConfigurationNode;
+
+/**
+ * Convert a single configuration file, on behalf of {@link ConvertConfigurations}.
+ */
+abstract class ConvertConfigurationAction implements WorkAction<ConvertConfigurationAction.Parameters> {
+
+    interface Parameters extends WorkParameters {
+        RegularFileProperty getInputFile();
+        RegularFileProperty getOutputFile();
+        Property<String> getSourceFormat();
+        Property<String> getTargetFormat();
+    }
+
+    @Override
+    public void execute() {
+        final Parameters params = this.getParameters();
+        final ConfigProcessor<?, ?> source = ConvertConfigurations.requireFormat(params.getSourceFormat().get());
+        final ConfigProcessor<?, ?> target = ConvertConfigurations.requireFormat(params.getTargetFormat().get());
+        final Path input = params.getInputFile().get().getAsFile().toPath();
+        final Path output = params.getOutputFile().get().getAsFile().toPath();
+
+        try {
+            final ConfigurationNode node = source.read(input);
+            Files.createDirectories(output.getParent());
+            try (final BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                target.write(writer, node);
+            }
+        } catch (final IOException ex) {
+            throw new GradleException("Failed to convert " + input + ": " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.transformations;
+
+import ca.stellardrift.build.configurate.ConfigFormats;
+import ca.stellardrift.build.configurate.ConfigProcessor;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import javax.inject.Inject;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileType;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+/**
+ * Convert configuration files from one format to another.
+ *
+ * <p>Files are converted in parallel, and only files that have been added or
+ * modified since the last execution are converted again. Formats are specified
+ * by any extension known to {@link ConfigFormats#byExtension(String)}, and
+ * converted files have their extension replaced with the target format's.</p>
+ */
+public abstract class ConvertConfigurations extends DefaultTask {
+
+    public ConvertConfigurations() {
+        this.setGroup("configurate");
+        this.setDescription("Convert configuration files between formats");
+    }
+
+    /**
+     * Files to convert.
+     *
+     * @return the source files
+     */
+    @InputFiles
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @Incremental
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getSource();
+
+    /**
+     * The format of source files, as an extension.
+     *
+     * @return the source format property
+     */
+    @Input
+    public abstract Property<String> getSourceFormat();
+
+    /**
+     * The format to convert files to, as an extension.
+     *
+     * @return the target format property
+     */
+    @Input
+    public abstract Property<String> getTargetFormat();
+
+    /**
+     * The directory to write converted files to.
+     *
+     * @return the destination directory property
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getDestinationDirectory();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @TaskAction
+    public void convert(final InputChanges changes) throws IOException {
+        final String sourceFormat = this.getSourceFormat().get();
+        final String targetFormat = this.getTargetFormat().get();
+        requireFormat(sourceFormat);
+        requireFormat(targetFormat);
+
+        final File destination = this.getDestinationDirectory().get().getAsFile();
+        if (!changes.isIncremental()) {
+            this.getFileSystemOperations().delete(spec -> spec.delete(destination));
+            Files.createDirectories(destination.toPath());
+        }
+
+        final WorkQueue queue = this.getWorkerExecutor().noIsolation();
+        for (final FileChange change : changes.getFileChanges(this.getSource())) {
+            if (change.getFileType() == FileType.DIRECTORY) {
+                continue;
+            }
+
+            final File output = new File(destination, withExtension(change.getNormalizedPath(), targetFormat));
+            if (change.getChangeType() == ChangeType.REMOVED) {
+                Files.deleteIfExists(output.toPath());
+                continue;
+            }
+
+            queue.submit(ConvertConfigurationAction.class, params -> {
+                params.getInputFile().set(change.getFile());
+                params.getOutputFile().set(output);
+                params.getSourceFormat().set(sourceFormat);
+                params.getTargetFormat().set(targetFormat);
+            });
+        }
+    }
+
+    static ConfigProcessor<?, ?> requireFormat(final String extension) {
+        final @Nullable ConfigProcessor<?, ?> format = ConfigFormats.byExtension(extension);
+        if (format == null) {
+            throw new InvalidUserDataException("Unknown configuration format '" + extension + "'");
+        }
+        return format;
+    }
+
+    static String withExtension(final String path, final String extension) {
+        final int lastSlash = path.lastIndexOf('/');
+        final int dot = path.lastIndexOf('.');
+        if (dot > lastSlash) {
+            return path.substring(0, dot + 1) + extension;
+        } else {
+            return path + '.' + extension;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.transformations;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * A digest of the structure and values of a node tree.
+ *
+ * <p>Configurate nodes cannot report changes made to them, so a node is
+ * known to be unchanged when its fingerprint is the same before and after a
+ * transformation. Unlike a copy of the node, this takes constant memory.</p>
+ */
+final class NodeFingerprint {
+
+    private static final byte NULL = 0;
+    private static final byte SCALAR = 1;
+    private static final byte MAP = 2;
+    private static final byte LIST = 3;
+    private static final byte END = 4;
+
+    private final MessageDigest digest;
+    private final byte[] lengthBuffer = new byte[4];
+
+    private NodeFingerprint() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every JVM", ex);
+        }
+    }
+
+    /**
+     * Compute the fingerprint of a node and all of its children.
+     *
+     * <p>Values are compared by type and string representation, and map
+     * entries in iteration order, so a node that would be written out
+     * differently has a different fingerprint.</p>
+     *
+     * @param node the node to fingerprint
+     * @return the fingerprint
+     */
+    static byte[] of(final ConfigurationNode node) {
+        final NodeFingerprint fingerprint = new NodeFingerprint();
+        fingerprint.update(node);
+        return fingerprint.digest.digest();
+    }
+
+    private void update(final ConfigurationNode node) {
+        if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
+            this.string(((CommentedConfigurationNodeIntermediary<?>) node).comment());
+        }
+
+        if (node.isMap()) {
+            this.digest.update(MAP);
+            for (final Map.Entry<Object, ? extends ConfigurationNode> child : node.childrenMap().entrySet()) {
+                this.value(child.getKey());
+                this.update(child.getValue());
+            }
+            this.digest.update(END);
+        } else if (node.isList()) {
+            this.digest.update(LIST);
+            for (final ConfigurationNode child : node.childrenList()) {
+                this.update(child);
+            }
+            this.digest.update(END);
+        } else {
+            this.value(node.rawScalar());
+        }
+    }
+
+    private void value(final @Nullable Object value) {
+        if (value == null) {
+            this.digest.update(NULL);
+        } else {
+            this.digest.update(SCALAR);
+            this.string(value.getClass().getName());
+            this.string(value.toString());
+        }
+    }
+
+    private void string(final @Nullable String value) {
+        if (value == null) {
+            this.digest.update(NULL);
+            return;
+        }
+        // length-prefixed, so adjacent strings can't run into each other
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        this.lengthBuffer[0] = (byte) (bytes.length >>> 24);
+        this.lengthBuffer[1] = (byte) (bytes.length >>> 16);
+        this.lengthBuffer[2] = (byte) (bytes.length >>> 8);
+        this.lengthBuffer[3] = (byte) bytes.length;
+        this.digest.update(SCALAR);
+        this.digest.update(this.lengthBuffer);
+        this.digest.update(bytes);
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020 zml
+ * Copyright 2026 zml
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,24 +15,23 @@
  */
 package ca.stellardrift.build.configurate.transformations;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.Reader;
 
 /**
- * A [ByteArrayOutputStream] that directly exposes its buffer,
- * so we can use a [ByteArrayInputStream] without requiring a copy
+ * A {@link CharArrayWriter} that directly exposes its buffer,
+ * so we can use a {@link CharArrayReader} without requiring a copy.
  */
-class TrustedByteArrayOutput extends ByteArrayOutputStream {
+class TrustedCharArrayWriter extends CharArrayWriter {
 
     /**
-     * Get a new input stream reading from this stream's buffer.
+     * Get a new reader reading from this writer's buffer.
      *
-     * @return the new stream
+     * @return the new reader
      */
-    InputStream toInputStream() {
-        return new ByteArrayInputStream(this.buf, 0, this.count);
+    Reader toReader() {
+        return new CharArrayReader(this.buf, 0, this.count);
     }
 
 }
-
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.transformations;
+
+import ca.stellardrift.build.configurate.ConfigFormats;
+import ca.stellardrift.build.configurate.ConfigSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+import org.spongepowered.configurate.ConfigurateException;
+
+/**
+ * Validate that configuration files can be read in the format matching their extension.
+ *
+ * <p>Files without an extension, or with an extension that is not a known
+ * format, are skipped.</p>
+ *
+ * <p>Results are recorded in a manifest holding the content hash and status of
+ * every validated file. Files whose content hash matches a previously successful
+ * validation are not parsed again.</p>
+ */
+@CacheableTask
+public abstract class ValidateConfigurations extends DefaultTask {
+    private static final String STATUS_VALID = "valid";
+    private static final String STATUS_INVALID = "invalid";
+
+    public ValidateConfigurations() {
+        this.setGroup("verification");
+        this.setDescription("Validate that configuration files can be read by their format");
+    }
+
+    /**
+     * Files to validate.
+     *
+     * <p>The format of each file is chosen by its extension. Files of unknown formats are ignored.</p>
+     *
+     * @return the source files
+     */
+    @InputFiles
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getSource();
+
+    /**
+     * A manifest of validation results for every file.
+     *
+     * @return the manifest file property
+     */
+    @OutputFile
+    public abstract RegularFileProperty getManifest();
+
+    @TaskAction
+    public void validate() throws IOException {
+        final Path manifest = this.getManifest().get().getAsFile().toPath();
+        final Map<String, ManifestEntry> previous = readManifest(manifest);
+        final Map<String, ManifestEntry> results = new TreeMap<>();
+        final List<String> failures = new ArrayList<>();
+        final MessageDigest digest = sha256();
+
+        this.getSource().getAsFileTree().visit(details -> {
+            if (details.isDirectory()) {
+                return;
+            }
+
+            final String path = details.getRelativePath().getPathString();
+            final @Nullable ConfigSource format = formatFor(details.getName());
+            if (format == null) {
+                this.getLogger().info("Skipping {}, since no configuration format is known for its extension", path);
+                return;
+            }
+
+            final byte[] contents;
+            try {
+                contents = Files.readAllBytes(details.getFile().toPath());
+            } catch (final IOException ex) {
+                throw new GradleException("Failed to read " + path, ex);
+            }
+            final String hash = hex(digest.digest(contents));
+
+            final @Nullable ManifestEntry existing = previous.get(path);
+            if (existing != null && existing.valid() && existing.hash.equals(hash)) {
+                results.put(path, existing);
+                return;
+            }
+
+            final @Nullable String error = validateFile(format, path, contents);
+            if (error == null) {
+                results.put(path, new ManifestEntry(hash, STATUS_VALID));
+            } else {
+                results.put(path, new ManifestEntry(hash, STATUS_INVALID));
+                failures.add(path + ": " + error);
+            }
+        });
+
+        writeManifest(manifest, results);
+
+        if (!failures.isEmpty()) {
+            throw new GradleException("Invalid configuration files:\n  " + String.join("\n  ", failures));
+        }
+    }
+
+    private static @Nullable ConfigSource formatFor(final String name) {
+        final int dot = name.lastIndexOf('.');
+        return dot == -1 ? null : ConfigFormats.byExtension(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static @Nullable String validateFile(final ConfigSource format, final String name, final byte[] contents) {
+        final CharBuffer chars = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(contents));
+        try (final BufferedReader reader = new BufferedReader(new CharArrayReader(chars.array(), chars.arrayOffset(), chars.remaining()))) {
+            format.read(reader);
+            return null;
+        } catch (final ConfigurateException ex) {
+            return ex.getMessage();
+        } catch (final IOException ex) {
+            throw new GradleException("Failed to read " + name, ex);
+        }
+    }
+
+    private static Map<String, ManifestEntry> readManifest(final Path manifest) throws IOException {
+        final Map<String, ManifestEntry> entries = new HashMap<>();
+        if (!Files.isRegularFile(manifest)) {
+            return entries;
+        }
+
+        for (final String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            // <hash> <status> <path>
+            final int firstSpace = line.indexOf(' ');
+            final int secondSpace = firstSpace == -1 ? -1 : line.indexOf(' ', firstSpace + 1);
+            if (secondSpace == -1) {
+                continue; // not a line we wrote, re-validate
+            }
+            entries.put(
+                line.substring(secondSpace + 1),
+                new ManifestEntry(line.substring(0, firstSpace), line.substring(firstSpace + 1, secondSpace))
+            );
+        }
+        return entries;
+    }
+
+    private static void writeManifest(final Path manifest, final Map<String, ManifestEntry> entries) throws IOException {
+        Files.createDirectories(manifest.getParent());
+        try (final BufferedWriter writer = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<String, ManifestEntry> entry : entries.entrySet()) {
+                writer.write(entry.getValue().hash);
+                writer.write(' ');
+                writer.write(entry.getValue().status);
+                writer.write(' ');
+                writer.write(entry.getKey());
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every JVM", ex);
+        }
+    }
+
+    private static String hex(final byte[] bytes) {
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16))
+                .append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    static final class ManifestEntry {
+        final String hash;
+        final String status;
+
+        ManifestEntry(final String hash, final String status) {
+            this.hash = hash;
+            this.status = status;
+        }
+
+        boolean valid() {
+            return STATUS_VALID.equals(this.status);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 @file:JvmName("ConfigurateTransformations")
 package ca.stellardrift.build.configurate.transformations
 
+import ca.stellardrift.build.configurate.ConfigFormatSpec
 import ca.stellardrift.build.configurate.ConfigProcessor
 import ca.stellardrift.build.configurate.ConfigSource
 import ca.stellardrift.build.configurate.ConfigTarget
@@ -34,6 +35,8 @@ fun ContentFilterable.validate(format: ConfigSource) {
  * Convert any file targeted from the [source] format to the [dest] format.
  *
  * Conversion doesn't process file extensions, so most files will want to be renamed as part of the conversion process.
+ *
+ * To be compatible with the configuration cache, formats must be standard formats or [ConfigFormatSpec]s.
  */
 @JvmOverloads
 fun ContentFilterable.convertFormat(source: ConfigSource, dest: ConfigTarget, transformer: Action<ConfigurationNode>? = null) {
@@ -46,6 +49,8 @@ fun ContentFilterable.convertFormat(source: ConfigSource, dest: ConfigTarget, tr
 
 /**
  * Load every file to be processed
+ *
+ * If [transformer] makes no changes to the node, the file is passed through as it was read.
  */
 fun ContentFilterable.transform(configType: ConfigProcessor<*, *>, transformer: Action<ConfigurationNode>) {
     this.filter(mapOf(
@@ -54,3 +59,16 @@ fun ContentFilterable.transform(configType: ConfigProcessor<*, *>, transformer:
             ConfigurateFilterReader.PARAM_TRANSFORMER to transformer
     ), ConfigurateFilterReader::class.java)
 }
+
+/**
+ * Load every file to be processed, with a format described by a configuration cache-compatible [ConfigFormatSpec]
+ *
+ * If [transformer] makes no changes to the node, the file is passed through as it was read.
+ */
+fun ContentFilterable.transform(configType: ConfigFormatSpec, transformer: Action<ConfigurationNode>) {
+    this.filter(mapOf(
+            ConfigurateFilterReader.PARAM_SOURCE to configType,
+            ConfigurateFilterReader.PARAM_DEST to configType,
+            ConfigurateFilterReader.PARAM_TRANSFORMER to transformer
+    ), ConfigurateFilterReader::class.java)
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+
+class ConfigFormatSpecTest {
+
+    private static Object roundTrip(final Object value) throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    @Test
+    void testStandardFormatSerializesAsSpec() throws IOException, ClassNotFoundException {
+        assertEquals(ConfigFormatSpec.of("json"), roundTrip(ConfigFormats.JSON));
+        assertEquals(ConfigFormatSpec.of("conf"), roundTrip(ConfigFormats.HOCON));
+    }
+
+    @Test
+    void testConfiguredFormatIsNotSerializable() {
+        final ConfigProcessor<?, ?> configured = ConfigFormats.JSON.configured(builder -> builder.indent(4));
+        assertThrows(NotSerializableException.class, () -> roundTrip(configured));
+    }
+
+    @Test
+    void testOptionsAreApplied() throws IOException, ClassNotFoundException {
+        final ConfigFormatSpec spec = (ConfigFormatSpec) roundTrip(ConfigFormatSpec.of("JSON").option("indent", 0));
+        final ConfigurationNode node = BasicConfigurationNode.root(n -> n.node("a").set(1));
+
+        final StringWriter writer = new StringWriter();
+        spec.write(writer, node);
+
+        assertEquals("{\"a\":1}", writer.toString().trim());
+    }
+
+    @Test
+    void testUnknownOptionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ConfigFormatSpec.of("yml").option("lenient", true).resolve());
+        assertThrows(IllegalArgumentException.class, () -> ConfigFormatSpec.of("ini").resolve());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ConfigFormatsTest {
+
+    @Test
+    void testRegister() throws IOException {
+        final ConfigProcessor<YamlConfigurationLoader.Builder, YamlConfigurationLoader> format
+            = ConfigFormats.register(YamlConfigurationLoader::builder, "registered-yaml");
+
+        assertSame(format, ConfigFormats.byExtension("registered-yaml"));
+        assertTrue(ConfigFormats.all().contains(format));
+        assertEquals(ConfigFormatSpec.of("registered-yaml"), format.spec());
+
+        final ConfigurationNode node = ConfigFormatSpec.of("registered-yaml").read(new StringReader("a: 1\n"));
+        assertEquals(1, node.node("a").getInt());
+
+        // registering the same format again, as a re-run build script would, is not an error
+        assertSame(format, ConfigFormats.register(YamlConfigurationLoader::builder, "REGISTERED-YAML"));
+    }
+
+    @Test
+    void testRegisteredExtensionCannotBeReplaced() {
+        assertThrows(IllegalArgumentException.class, () -> ConfigFormats.register(YamlConfigurationLoader::builder, "yml"));
+        assertSame(ConfigFormats.YAML, ConfigFormats.byExtension("yml"));
+    }
+
+    @Test
+    void testCollisionDoesNotLoadStandardBackend() {
+        final AtomicReference<ConfigFormats.Registry> registry = new AtomicReference<>(ConfigFormats.Registry.EMPTY);
+        final ConfigFormats.LazyBackend<YamlConfigurationLoader.Builder, YamlConfigurationLoader> backend = new ConfigFormats.LazyBackend<>(() -> {
+            throw new AssertionError("The backend should not be loaded");
+        });
+        ConfigFormats.publish(registry, new ConfigProcessor<>(backend, "yml"));
+
+        assertThrows(IllegalArgumentException.class, () -> ConfigFormats.publish(registry, new ConfigProcessor<>(YamlConfigurationLoader::builder, "yml")));
+    }
+
+    @Test
+    void testTomlRoundTrip() throws IOException {
+        assertSame(ConfigFormats.TOML, ConfigFormats.byExtension("toml"));
+
+        final ConfigurationNode node = ConfigFormats.TOML.read(new StringReader("name = \"polyglot\"\n\n[versions]\ngson = \"2.10.1\"\nlevel = 3\n"));
+        assertEquals("polyglot", node.node("name").getString());
+        assertEquals("2.10.1", node.node("versions", "gson").getString());
+        assertEquals(3, node.node("versions", "level").getInt());
+
+        final StringWriter out = new StringWriter();
+        ConfigFormats.TOML.write(out, node);
+        assertEquals(node.raw(), ConfigFormats.TOML.read(new StringReader(out.toString())).raw());
+    }
+
+    @Test
+    void testLookupIgnoresCase() {
+        assertSame(ConfigFormats.YAML, ConfigFormats.byExtension("YML"));
+        assertSame(ConfigFormats.HOCON, ConfigFormats.byExtension("Conf"));
+    }
+
+    @Test
+    void testConcurrentRegistrationAndLookup() throws InterruptedException, ExecutionException {
+        // published to a registry of our own, so the formats known to other tests are left alone
+        final AtomicReference<ConfigFormats.Registry> registry = new AtomicReference<>(ConfigFormats.Registry.EMPTY);
+        final ConfigProcessor<?, ?> json = ConfigFormats.publish(registry, new ConfigProcessor<>(YamlConfigurationLoader::builder, "json"));
+        final int threads = 16;
+        final int perThread = 50;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        final String extension = "stress-" + thread + "-" + i;
+                        final ConfigProcessor<?, ?> registered = ConfigFormats.publish(registry, new ConfigProcessor<>(YamlConfigurationLoader::builder, extension));
+                        assertSame(registered, registry.get().byExtension.get(extension));
+                        assertSame(json, registry.get().byExtension.get("json"));
+                        assertTrue(registry.get().processors.contains(registered));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertNotNull(registry.get().byExtension.get("stress-" + t + "-" + i));
+            }
+        }
+        assertEquals(threads * perThread + 1, registry.get().processors.size());
+        assertNull(ConfigFormats.byExtension("stress-0-0"));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+class ConfigNodeCacheTest {
+
+    private static final String CONTENT = "{\"name\": \"widget\", \"count\": 3}";
+
+    @Test
+    void testRepeatedReadIsHit() throws ConfigurateException {
+        final ConfigNodeCache cache = ConfigNodeCache.create(4);
+        final ConfigProcessor<?, ?> json = ConfigFormats.JSON.cached(cache);
+
+        final ConfigurationNode first = json.read(new StringReader(CONTENT));
+        final ConfigurationNode second = json.read(new StringReader(CONTENT));
+
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.hits());
+        assertEquals("widget", second.node("name").getString());
+        assertEquals(first.raw(), second.raw());
+    }
+
+    @Test
+    void testReturnedNodesAreCopies() throws ConfigurateException {
+        final ConfigNodeCache cache = ConfigNodeCache.create(4);
+        final ConfigProcessor<?, ?> json = ConfigFormats.JSON.cached(cache);
+
+        json.read(new StringReader(CONTENT)).node("name").set("gadget");
+        final ConfigurationNode hit = json.read(new StringReader(CONTENT));
+        hit.node("count").raw(null);
+
+        assertEquals("widget", json.read(new StringReader(CONTENT)).node("name").getString());
+        assertEquals(3, json.read(new StringReader(CONTENT)).node("count").getInt());
+    }
+
+    @Test
+    void testFormatsAreKeyedSeparately() throws ConfigurateException {
+        final ConfigNodeCache cache = ConfigNodeCache.create(4);
+
+        ConfigFormats.JSON.cached(cache).read(new StringReader(CONTENT));
+        ConfigFormats.YAML.cached(cache).read(new StringReader(CONTENT));
+
+        assertEquals(2, cache.misses());
+        assertEquals(0, cache.hits());
+    }
+
+    @Test
+    void testEqualSpecificationsShareEntries() throws ConfigurateException {
+        final ConfigNodeCache cache = ConfigNodeCache.create(4);
+
+        ConfigFormatSpec.of("json").option("indent", 2).resolve().cached(cache).read(new StringReader(CONTENT));
+        ConfigFormatSpec.of("json").option("indent", 2).resolve().cached(cache).read(new StringReader(CONTENT));
+
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() throws ConfigurateException {
+        final ConfigNodeCache cache = ConfigNodeCache.create(2);
+        final ConfigProcessor<?, ?> json = ConfigFormats.JSON.cached(cache);
+
+        json.read(new StringReader("{\"a\": 1}"));
+        json.read(new StringReader("{\"b\": 2}"));
+        json.read(new StringReader("{\"a\": 1}")); // refresh a
+        json.read(new StringReader("{\"c\": 3}")); // evicts b
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.hits());
+        assertEquals(3, cache.misses());
+
+        json.read(new StringReader("{\"b\": 2}"));
+        assertEquals(4, cache.misses());
+    }
+
+    @Test
+    void testKeysDoNotDependOnHowTextIsRead() {
+        // an emoji is a surrogate pair, which is split between pieces here
+        final char[] text = "{\"ab\": \"\uD83D\uDE00 widget\"}".toCharArray();
+        final ConfigNodeCache.KeyBuilder builder = new ConfigNodeCache.KeyBuilder();
+        for (int offset = 0; offset < text.length; offset += 3) {
+            builder.update(text, offset, Math.min(3, text.length - offset));
+        }
+
+        final ConfigNodeCache.Key key = builder.build("json");
+
+        assertEquals(ConfigNodeCache.key("json", CharBuffer.wrap(text)), key);
+        assertEquals(ConfigNodeCache.key("json", StandardCharsets.UTF_8.encode(CharBuffer.wrap(text))), key);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ConfigProcessorTest {
+
+    @Test
+    void testConvertAll(final @TempDir Path temp) throws IOException {
+        final Path in = Files.createDirectories(temp.resolve("in"));
+        final Path out = Files.createDirectories(temp.resolve("out"));
+        final List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final Path file = in.resolve("messages_" + i + ".yml");
+            Files.write(file, ("greeting: \"héllo " + i + "\"\n").getBytes(StandardCharsets.UTF_8));
+            inputs.add(file);
+        }
+
+        // larger than a single transfer buffer
+        final StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            large.append("key").append(i).append(": \"välue ").append(i).append("\"\n");
+        }
+        final Path largeFile = in.resolve("large.yml");
+        Files.write(largeFile, large.toString().getBytes(StandardCharsets.UTF_8));
+        inputs.add(largeFile);
+
+        final ConversionStatistics stats = ConfigFormats.YAML.convertAll(inputs, out, ConfigFormats.JSON, 3);
+
+        assertEquals(21, stats.files());
+        long inputSize = 0;
+        for (final Path input : inputs) {
+            inputSize += Files.size(input);
+        }
+        assertEquals(inputSize, stats.bytesRead());
+        for (int i = 0; i < 20; i++) {
+            final ConfigurationNode node = read(out.resolve("messages_" + i + ".json"));
+            assertEquals("héllo " + i, node.node("greeting").getString());
+        }
+        final ConfigurationNode largeNode = read(out.resolve("large.json"));
+        assertEquals(10_000, largeNode.childrenMap().size());
+        assertEquals("välue 9999", largeNode.node("key9999").getString());
+        assertTrue(stats.bytesWritten() > 0);
+    }
+
+    @Test
+    void testConvertAllRejectsCollidingOutputs(final @TempDir Path temp) throws IOException {
+        final Path a = Files.write(temp.resolve("a.yml"), "a: 1\n".getBytes(StandardCharsets.UTF_8));
+        final Path b = Files.write(temp.resolve("a.yaml"), "a: 2\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> ConfigFormats.YAML.convertAll(Arrays.asList(a, b), temp, ConfigFormats.JSON));
+    }
+
+    @Test
+    void testConvertAllReportsFailures(final @TempDir Path temp) throws IOException {
+        final Path out = Files.createDirectories(temp.resolve("out"));
+        final Path good = Files.write(temp.resolve("good.json"), "{\"a\": 1}".getBytes(StandardCharsets.UTF_8));
+        final Path bad = Files.write(temp.resolve("bad.json"), "{\"a\": ".getBytes(StandardCharsets.UTF_8));
+
+        final IOException ex = assertThrows(IOException.class, () -> ConfigFormats.JSON.convertAll(Arrays.asList(good, bad), out, ConfigFormats.YAML));
+        assertTrue(ex.getMessage().contains("bad.json"));
+        assertTrue(Files.exists(out.resolve("good.yml")));
+    }
+
+    @Test
+    void testReadPath(final @TempDir Path temp) throws IOException {
+        final Path small = Files.write(temp.resolve("small.yml"), "greeting: \"héllo\"\n".getBytes(StandardCharsets.UTF_8));
+        // large enough to be memory-mapped
+        final StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            large.append("key").append(i).append(": \"välue ").append(i).append("\"\n");
+        }
+        final Path largeFile = Files.write(temp.resolve("large.yml"), large.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("héllo", ConfigFormats.YAML.read(small).node("greeting").getString());
+        final ConfigurationNode largeNode = ConfigFormats.YAML.read(largeFile);
+        assertEquals(20_000, largeNode.childrenMap().size());
+        assertEquals("välue 19999", largeNode.node("key19999").getString());
+    }
+
+    @Test
+    void testReadPathUsesCache(final @TempDir Path temp) throws IOException {
+        final StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            large.append("key").append(i).append(": ").append(i).append('\n');
+        }
+        final Path largeFile = Files.write(temp.resolve("large.yml"), large.toString().getBytes(StandardCharsets.UTF_8));
+        final ConfigNodeCache cache = ConfigNodeCache.create(4);
+        final ConfigProcessor<?, ?> cached = ConfigFormats.YAML.cached(cache);
+
+        cached.read(new StringReader(large.toString()));
+        final ConfigurationNode node = cached.read(largeFile);
+
+        assertEquals(1, cache.hits());
+        assertEquals(19_999, node.node("key19999").getInt());
+    }
+
+    private static ConfigurationNode read(final Path file) throws IOException {
+        return ConfigFormats.JSON.read(new StringReader(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.gradle.api.InvalidUserDataException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogFragmentsTest {
+
+    private static CatalogModel read(final CatalogFragments.Fragment fragment) throws IOException {
+        return CatalogModelTest.parse(new String(Files.readAllBytes(fragment.file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testMergeInFileNameOrder(final @TempDir Path dir) throws IOException {
+        Files.write(dir.resolve("b.yaml"), "dependencies:\n  gson: com.google.code.gson:gson:2.10\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("a.yml"), "dependencies:\n  junit: org.junit.jupiter:junit-jupiter-api:5.10.0\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("notes.txt"), "not a catalog".getBytes(StandardCharsets.UTF_8));
+
+        final List<CatalogFragments.Fragment> fragments = CatalogFragments.list(dir, "*");
+        assertEquals(2, fragments.size());
+
+        final CatalogModel model = CatalogFragments.readAll(fragments, CatalogFragmentsTest::read);
+        assertEquals(2, model.libraries.size());
+        assertEquals("junit", new ArrayList<>(model.libraries.keySet()).get(0));
+    }
+
+    @Test
+    void testDuplicateAliasNamesBothFiles(final @TempDir Path dir) throws IOException {
+        Files.write(dir.resolve("a.yaml"), "versions:\n  junit: 5.9.0\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("b.yaml"), "versions:\n  junit: 5.10.0\n".getBytes(StandardCharsets.UTF_8));
+
+        final InvalidUserDataException ex = assertThrows(
+            InvalidUserDataException.class,
+            () -> CatalogFragments.readAll(CatalogFragments.list(dir, "*.yaml"), CatalogFragmentsTest::read)
+        );
+        assertTrue(ex.getMessage().contains("a.yaml"));
+        assertTrue(ex.getMessage().contains("b.yaml"));
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ca.stellardrift.build.configurate.ConfigFormats;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+class CatalogModelTest {
+
+    private static final String CATALOG = String.join("\n",
+        "metadata:",
+        "  format: { version: \"1.0\" }",
+        "dependencies:",
+        "  configurate-core: org.spongepowered:configurate-core:4.1.2",
+        "  configurate-yaml: { module: \"org.spongepowered:configurate-yaml\", version: { ref: configurate } }",
+        "  junit-api: { group: org.junit.jupiter, name: junit-jupiter-api, version: \"[5.9, 6)!!5.10.0\" }",
+        "  gson: { group: com.google.code.gson, name: gson }",
+        "bundles:",
+        "  configurate: [configurate-core, configurate-yaml]",
+        "plugins:",
+        "  indra: net.kyori.indra:3.1.2",
+        "  kotlin: { id: org.jetbrains.kotlin.jvm, version: { require: 1.9.10, reject: [1.9.0] } }",
+        "versions:",
+        "  configurate: 4.1.2",
+        ""
+    );
+
+    static CatalogModel parse(final String catalog) throws IOException {
+        // no serializers are registered, since the applier decodes versions itself
+        final ConfigurationNode node = ConfigFormats.YAML.read(new StringReader(catalog));
+        final CatalogModel model = new CatalogModel();
+        new VersionCatalogApplier(model).load(node);
+        return model;
+    }
+
+    private static byte[] binary(final CatalogModel model) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            model.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testParse() throws IOException {
+        final CatalogModel model = parse(CATALOG);
+
+        assertEquals(4, model.libraries.size());
+        assertEquals("org.spongepowered:configurate-core:4.1.2", model.libraries.get("configurate-core").notation);
+        assertEquals("configurate", model.libraries.get("configurate-yaml").version.versionRef());
+        assertEquals("5.10.0", model.libraries.get("junit-api").version.prefer());
+        assertEquals(null, model.libraries.get("gson").version);
+        assertEquals(2, model.bundles.get("configurate").size());
+        assertEquals("3.1.2", model.plugins.get("indra").notation);
+        assertEquals("1.9.10", model.plugins.get("kotlin").version.require());
+        assertEquals(GradleVersion.builder().require("4.1.2").build(), model.versions.get("configurate"));
+    }
+
+    @Test
+    void testIncompleteModuleIsRejected() {
+        assertThrows(SerializationException.class, () -> parse("dependencies:\n  broken: { module: \"org.example:\" }\n"));
+        assertThrows(SerializationException.class, () -> parse("dependencies:\n  broken: { module: \":artifact\" }\n"));
+        assertThrows(SerializationException.class, () -> parse("dependencies:\n  broken: { module: \"org.example:artifact:1.0:extra\" }\n"));
+    }
+
+    @Test
+    void testModuleWithTrailingSeparatorHasNoVersion() throws IOException {
+        final CatalogModel.Library library = parse("dependencies:\n  lib: { module: \"org.example:artifact:\" }\n").libraries.get("lib");
+
+        assertEquals(null, library.notation);
+        assertEquals("org.example", library.group);
+        assertEquals("artifact", library.name);
+        assertEquals(null, library.version);
+    }
+
+    @Test
+    void testBinaryRoundTrip() throws IOException {
+        final byte[] written = binary(parse(CATALOG));
+
+        final CatalogModel read;
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(written))) {
+            read = CatalogModel.readFrom(in);
+        }
+
+        assertArrayEquals(written, binary(read));
+    }
+
+    @Test
+    void testStreamingMatchesTree() throws IOException {
+        final byte[] expected = binary(parse(CATALOG));
+
+        final CatalogModel yaml = new CatalogModel();
+        assertTrue(StreamingCatalogReader.forSource(ConfigFormats.YAML).read(new StringReader(CATALOG), new VersionCatalogApplier(yaml)));
+        assertArrayEquals(expected, binary(yaml));
+
+        final StringWriter json = new StringWriter();
+        ConfigFormats.JSON.write(json, ConfigFormats.YAML.read(new StringReader(CATALOG)));
+        final CatalogModel fromJson = new CatalogModel();
+        assertTrue(StreamingCatalogReader.forSource(ConfigFormats.JSON).read(new StringReader(json.toString()), new VersionCatalogApplier(fromJson)));
+        assertArrayEquals(expected, binary(fromJson));
+    }
+
+    @Test
+    void testStreamingDoesNotChangeScalars() throws IOException {
+        // plain scalars that YAML reads as numbers, next to ones it reads as strings
+        final String yaml = String.join("\n",
+            "dependencies:",
+            "  legacy: { group: org.example, name: legacy, version: 1.10 }",
+            "plugins:",
+            "  tagged: { id: org.example.plugin, version: !!str 1.10 }",
+            "versions:",
+            "  decimal: 1.10",
+            "  hex: 0x1F",
+            "  quoted: \"1.10\"",
+            ""
+        );
+        final String json = "{\"versions\": {\"decimal\": 1.10, \"whole\": 10, \"quoted\": \"1.10\"}}";
+        final Path file = Paths.get("libs.versions.yml");
+
+        final CatalogModel yamlTree = CatalogFragments.parse(ConfigFormats.YAML, file, yaml.getBytes(StandardCharsets.UTF_8), false);
+        final CatalogModel yamlStreamed = CatalogFragments.parse(ConfigFormats.YAML, file, yaml.getBytes(StandardCharsets.UTF_8), true);
+        assertArrayEquals(binary(yamlTree), binary(yamlStreamed));
+        assertEquals("1.10", yamlStreamed.versions.get("quoted").require());
+
+        final CatalogModel jsonTree = CatalogFragments.parse(ConfigFormats.JSON, file, json.getBytes(StandardCharsets.UTF_8), false);
+        final CatalogModel jsonStreamed = CatalogFragments.parse(ConfigFormats.JSON, file, json.getBytes(StandardCharsets.UTF_8), true);
+        assertArrayEquals(binary(jsonTree), binary(jsonStreamed));
+    }
+
+    @Test
+    void testStreamingFallsBackForAnchors() throws IOException {
+        final String catalog = "versions:\n  base: &base 1.0\n  other: *base\n";
+        assertFalse(StreamingCatalogReader.forSource(ConfigFormats.YAML).read(new StringReader(catalog), new VersionCatalogApplier(new CatalogModel())));
+    }
+
+    @Test
+    void testToml() throws IOException {
+        final StringWriter toml = new StringWriter();
+        new TomlCatalogWriter(toml).write(parse(CATALOG));
+
+        assertEquals(String.join("\n",
+            "[versions]",
+            "configurate = \"4.1.2\"",
+            "",
+            "[libraries]",
+            "configurate-core = \"org.spongepowered:configurate-core:4.1.2\"",
+            "configurate-yaml = { group = \"org.spongepowered\", name = \"configurate-yaml\", version.ref = \"configurate\" }",
+            "junit-api = { group = \"org.junit.jupiter\", name = \"junit-jupiter-api\", version = { strictly = \"[5.9, 6)\", prefer = \"5.10.0\" } }",
+            "gson = { group = \"com.google.code.gson\", name = \"gson\" }",
+            "",
+            "[bundles]",
+            "configurate = [\"configurate-core\", \"configurate-yaml\"]",
+            "",
+            "[plugins]",
+            "indra = { id = \"net.kyori.indra\", version = \"3.1.2\" }",
+            "kotlin = { id = \"org.jetbrains.kotlin.jvm\", version = { require = \"1.9.10\", reject = [\"1.9.0\"] } }",
+            ""
+        ), toml.toString());
+    }
+
+    @Test
+    void testTomlWithoutVersionsOrVersionConstraints() throws IOException {
+        final CatalogModel model = new CatalogModel();
+        model.libraries.put("lib", CatalogModel.Library.coordinates("org.example", "lib", GradleVersion.builder().build()));
+        final StringWriter toml = new StringWriter();
+        new TomlCatalogWriter(toml).write(model);
+
+        assertEquals(String.join("\n",
+            "[libraries]",
+            "lib = { group = \"org.example\", name = \"lib\" }",
+            ""
+        ), toml.toString());
+    }
+}
@@ -15,7 +15,18 @@
  */
 package ca.stellardrift.build.configurate.catalog;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ca.stellardrift.build.configurate.ConfigFormats;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 public class PolyglotVersionCatalogPluginTest {
 
@@ -30,4 +41,41 @@ public class PolyglotVersionCatalogPluginTest {
 
         assertNotNull(project.getExtensions().findByName("opinionated"));*/
     }
+
+    @Test
+    public void testCatalogDiscoveryOrder(final @TempDir Path gradleDir) throws IOException {
+        Files.createFile(gradleDir.resolve("libs.versions.yml"));
+        Files.createFile(gradleDir.resolve("libs.versions.json"));
+        Files.createFile(gradleDir.resolve("libs.versions.toml"));
+        Files.createFile(gradleDir.resolve("other.yml"));
+
+        final List<PolyglotVersionCatalogPlugin.Candidate> candidates = PolyglotVersionCatalogPlugin.findCatalogs(gradleDir);
+        assertEquals(2, candidates.size());
+        assertEquals(ConfigFormats.JSON, candidates.get(0).processor);
+        assertEquals(ConfigFormats.YAML, candidates.get(1).processor);
+    }
+
+    @Test
+    public void testCatalogDiscoveryIgnoresCase(final @TempDir Path gradleDir) throws IOException {
+        Files.createFile(gradleDir.resolve("libs.versions.YML"));
+
+        final List<PolyglotVersionCatalogPlugin.Candidate> candidates = PolyglotVersionCatalogPlugin.findCatalogs(gradleDir);
+        assertEquals(1, candidates.size());
+        assertEquals(ConfigFormats.YAML, candidates.get(0).processor);
+    }
+
+    @Test
+    public void testFragmentsDirectoryIsDiscovered(final @TempDir Path gradleDir) throws IOException {
+        assertNull(PolyglotVersionCatalogPlugin.discover(gradleDir).fragmentsDirectory);
+
+        Files.createDirectory(gradleDir.resolve("libs.versions.d"));
+        final PolyglotVersionCatalogPlugin.Catalogs catalogs = PolyglotVersionCatalogPlugin.discover(gradleDir);
+        assertEquals(gradleDir.resolve("libs.versions.d"), catalogs.fragmentsDirectory);
+        assertTrue(catalogs.candidates.isEmpty());
+    }
+
+    @Test
+    public void testCatalogDiscoveryMissingDirectory(final @TempDir Path root) {
+        assertTrue(PolyglotVersionCatalogPlugin.findCatalogs(root.resolve("gradle")).isEmpty());
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.configurate.transformations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ca.stellardrift.build.configurate.ConfigFormats;
+import ca.stellardrift.build.configurate.ConfigSource;
+import ca.stellardrift.build.configurate.ConfigTarget;
+import groovy.lang.Closure;
+import org.gradle.api.Action;
+import org.gradle.api.file.ContentFilterable;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+class ConfigurateFilterReaderTest {
+    // Not in the format's own style, so any rewrite would be visible
+    private static final String ORIGINAL = "{ \"a\":1,\n  \"b\" : [ 1,2 ] }\n";
+
+    @Test
+    void testUnchangedContentPassesThrough() throws IOException {
+        final ConfigurateFilterReader reader = filter((ConfigTransformer) node -> {
+            node.node("a").getInt();
+            return false;
+        });
+
+        assertEquals(ORIGINAL, drain(reader));
+    }
+
+    @Test
+    void testChangedContentIsRewritten() throws IOException {
+        final ConfigurateFilterReader reader = filter((ConfigTransformer) node -> {
+            try {
+                node.node("a").set(2);
+            } catch (final SerializationException ex) {
+                throw new RuntimeException(ex);
+            }
+            return true;
+        });
+
+        final String result = drain(reader);
+        assertNotEquals(ORIGINAL, result);
+        assertEquals(2, ConfigFormats.JSON.read(new StringReader(result)).node("a").getInt());
+    }
+
+    @Test
+    void testUnchangedPlainActionPassesThrough() throws IOException {
+        final ConfigurateFilterReader reader = filter(node -> node.node("a").getInt());
+
+        assertEquals(ORIGINAL, drain(reader));
+        assertFalse(reader.dirty());
+    }
+
+    @Test
+    void testChangedPlainActionIsRewritten() throws IOException {
+        final ConfigurateFilterReader reader = filter(node -> node.node("b").appendListNode().raw(3));
+
+        final String result = drain(reader);
+        assertNotEquals(ORIGINAL, result);
+        assertTrue(reader.dirty());
+        assertEquals(3, ConfigFormats.JSON.read(new StringReader(result)).node("b").childrenList().size());
+    }
+
+    @Test
+    void testKotlinTransform() throws IOException {
+        assertEquals(ORIGINAL, drain(filterThrough(filterable -> ConfigurateTransformations.transform(filterable, ConfigFormats.JSON, node -> node.node("a").getInt()))));
+
+        final String result = drain(filterThrough(filterable -> ConfigurateTransformations.transform(filterable, ConfigFormats.JSON, node -> node.node("a").raw(2))));
+        assertEquals(2, ConfigFormats.JSON.read(new StringReader(result)).node("a").getInt());
+    }
+
+    @Test
+    void testGroovyTransform() throws IOException {
+        assertEquals(ORIGINAL, drain(filterThrough(filterable -> ContentFilterableExtensions.transform(filterable, ConfigFormats.JSON, new Closure<Object>(null) {
+            public Object doCall() {
+                return ((ConfigurationNode) this.getDelegate()).node("a").getInt();
+            }
+        }))));
+
+        final String result = drain(filterThrough(filterable -> ContentFilterableExtensions.transform(filterable, ConfigFormats.JSON, new Closure<Object>(null) {
+            public Object doCall() {
+                return ((ConfigurationNode) this.getDelegate()).node("a").raw(2);
+            }
+        })));
+        assertEquals(2, ConfigFormats.JSON.read(new StringReader(result)).node("a").getInt());
+    }
+
+    /**
+     * Create a filter the way a copy task would, from the parameters given to
+     * {@link ContentFilterable#filter(Map, Class)} by an extension function.
+     */
+    @SuppressWarnings("unchecked")
+    private static ConfigurateFilterReader filterThrough(final Consumer<ContentFilterable> configure) {
+        final Map<String, Object> parameters = new HashMap<>();
+        final ContentFilterable filterable = (ContentFilterable) Proxy.newProxyInstance(
+            ContentFilterable.class.getClassLoader(),
+            new Class<?>[] {ContentFilterable.class},
+            (proxy, method, args) -> {
+                if (!method.getName().equals("filter") || args.length != 2 || args[1] != ConfigurateFilterReader.class) {
+                    throw new UnsupportedOperationException(method.toString());
+                }
+                parameters.putAll((Map<String, ?>) args[0]);
+                return proxy;
+            }
+        );
+        configure.accept(filterable);
+
+        final ConfigurateFilterReader reader = new ConfigurateFilterReader(new StringReader(ORIGINAL));
+        reader.source((ConfigSource) parameters.get(ConfigurateFilterReader.PARAM_SOURCE));
+        reader.dest((ConfigTarget) parameters.get(ConfigurateFilterReader.PARAM_DEST));
+        final Object transformer = parameters.get(ConfigurateFilterReader.PARAM_TRANSFORMER);
+        if (transformer instanceof Closure<?>) {
+            // coerced by Groovy when Gradle sets the property
+            reader.transformer(((Closure<?>) transformer)::call);
+        } else {
+            reader.transformer((Action<ConfigurationNode>) transformer);
+        }
+        return reader;
+    }
+
+    private static ConfigurateFilterReader filter(final Action<ConfigurationNode> transformer) {
+        final ConfigurateFilterReader reader = new ConfigurateFilterReader(new StringReader(ORIGINAL));
+        reader.source(ConfigFormats.JSON);
+        reader.dest(ConfigFormats.JSON);
+        reader.transformer(transformer);
+        return reader;
+    }
+
+    private static String drain(final Reader reader) throws IOException {
+        final StringWriter out = new StringWriter();
+        final char[] buffer = new char[64];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        reader.close();
+        return out.toString();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.localization
+
+import java.text.DateFormat
+import java.text.MessageFormat
+import java.text.NumberFormat
+import java.util.Locale
+
+/**
+ * The type of a [MessageFormat] argument, as declared by its format type.
+ *
+ * @property javaType the type of the argument in generated Java sources
+ * @property kotlinType the type of the argument in generated Kotlin sources
+ */
+enum class MessageArgumentType(val javaType: String, val kotlinType: String) {
+    /**
+     * Arguments with a `number` or `choice` format type.
+     */
+    NUMBER("Number", "Number"),
+
+    /**
+     * Arguments with a `date` or `time` format type.
+     */
+    DATE("java.util.Date", "java.util.Date"),
+
+    /**
+     * Arguments without a format type, which are formatted by their string representation.
+     */
+    ANY("Object", "Any?")
+}
+
+/**
+ * A single message in a resource bundle, as passed to templates in the `messages` variable.
+ *
+ * @property key the key of the message
+ * @property value the value of the message in the base bundle
+ * @property constantName a name for a constant holding the key, unique within the bundle
+ * @property accessorName a name for a method formatting the message, unique within the bundle
+ * @property argumentTypes the type of each argument of the message, by argument index
+ * @property valid whether the value is a valid [MessageFormat] pattern
+ */
+class BundleMessage(
+    val key: String,
+    val value: String,
+    val constantName: String,
+    val accessorName: String,
+    val argumentTypes: List<MessageArgumentType>,
+    val valid: Boolean
+) {
+    override fun toString(): String = "BundleMessage(key=$key, argumentTypes=$argumentTypes, valid=$valid)"
+
+    companion object {
+        /**
+         * Names that generated constants must not use.
+         */
+        internal val RESERVED_CONSTANTS = setOf("BUNDLE_NAME", "FORMATS")
+
+        /**
+         * Names that generated accessors must not use.
+         */
+        internal val RESERVED_ACCESSORS = setOf("formatMessage")
+
+        // both Java and Kotlin keywords, so names work in either language
+        private val KEYWORDS = setOf(
+            "_", "abstract", "as", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+            "continue", "default", "do", "double", "else", "enum", "extends", "false", "final", "finally", "float",
+            "for", "fun", "goto", "if", "implements", "import", "in", "instanceof", "int", "interface", "is", "long",
+            "native", "new", "null", "object", "package", "private", "protected", "public", "return", "short",
+            "static", "strictfp", "super", "switch", "synchronized", "this", "throw", "throws", "transient", "true",
+            "try", "typealias", "typeof", "val", "var", "void", "volatile", "when", "while"
+        )
+        private val WORD_BOUNDARY = Regex("([a-z0-9])([A-Z])")
+        private val NOT_IDENTIFIER = Regex("[^A-Za-z0-9]+")
+
+        /**
+         * Analyze every message in a bundle.
+         *
+         * @param messages message values by key
+         * @return the analyzed messages, sorted by key
+         */
+        fun analyze(messages: Map<String, String>): List<BundleMessage> {
+            val constants = HashSet(RESERVED_CONSTANTS)
+            val accessors = HashSet(RESERVED_ACCESSORS)
+            return messages.keys.sorted().map { key ->
+                val value = messages.getValue(key)
+                val argumentTypes = argumentTypes(value)
+                BundleMessage(
+                    key,
+                    value,
+                    unique(constantName(key), constants),
+                    unique(accessorName(key), accessors),
+                    argumentTypes ?: emptyList(),
+                    argumentTypes != null
+                )
+            }
+        }
+
+        /**
+         * Get the type of each argument in a message pattern.
+         *
+         * @return the argument types by index, or `null` if the pattern is invalid
+         */
+        internal fun argumentTypes(pattern: String): List<MessageArgumentType>? {
+            val format = try {
+                MessageFormat(pattern, Locale.ROOT)
+            } catch (ex: IllegalArgumentException) {
+                return null
+            }
+            return format.formatsByArgumentIndex.map {
+                when (it) {
+                    is NumberFormat -> MessageArgumentType.NUMBER
+                    is DateFormat -> MessageArgumentType.DATE
+                    else -> MessageArgumentType.ANY
+                }
+            }
+        }
+
+        /**
+         * Turn a bundle key like `commands.helpText` into a constant name like `COMMANDS_HELP_TEXT`.
+         */
+        internal fun constantName(key: String): String {
+            val name = key.replace(WORD_BOUNDARY, "$1_$2")
+                .replace(NOT_IDENTIFIER, "_")
+                .trim('_')
+                .toUpperCase(Locale.ROOT)
+            return if (name.isEmpty() || name[0].isDigit()) "_$name" else name
+        }
+
+        /**
+         * Turn a bundle key like `commands.help-text` into a method name like `commandsHelpText`.
+         */
+        internal fun accessorName(key: String): String {
+            val name = key.split(NOT_IDENTIFIER)
+                .filter { it.isNotEmpty() }
+                .mapIndexed { index, part -> if (index == 0) part.decapitalize() else part.capitalize() }
+                .joinToString("")
+            return when {
+                name.isEmpty() || name[0].isDigit() -> "_$name"
+                name in KEYWORDS -> name + '_'
+                else -> name
+            }
+        }
+
+        private fun unique(base: String, taken: MutableSet<String>): String {
+            var name = base
+            var suffix = 2
+            while (!taken.add(name)) {
+                name = base + '_' + suffix++
+            }
+            return name
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.localization
+
+import java.io.File
+import java.io.StringWriter
+import java.util.Properties
+import org.gradle.api.InvalidUserDataException
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.logging.Logging
+import org.gradle.api.provider.ListProperty
+import org.gradle.api.provider.Property
+import org.gradle.workers.WorkAction
+import org.gradle.workers.WorkParameters
+
+/**
+ * Generate sources for a batch of resource bundles, on behalf of [LocalizationGenerate].
+ */
+abstract class LocalizationGenerateAction : WorkAction<LocalizationGenerateAction.Parameters> {
+
+    interface Parameters : WorkParameters {
+        val templateCache: Property<LocalizationTemplateCache>
+
+        /**
+         * The template to render, or none to use the built-in renderer for [templateType].
+         */
+        val templateFile: RegularFileProperty
+        val templateType: Property<TemplateType>
+        val sourceRoot: DirectoryProperty
+        val outputRoot: DirectoryProperty
+
+        /**
+         * Paths of the bundles to generate sources for, relative to [sourceRoot].
+         */
+        val bundles: ListProperty<String>
+    }
+
+    override fun execute() {
+        val renderer = renderer()
+        val extension = parameters.templateType.get().extension
+        val sourceRoot = parameters.sourceRoot.get().asFile
+        val outputRoot = parameters.outputRoot.get().asFile
+
+        var written = 0
+        for (bundle in parameters.bundles.get()) {
+            val names = BundleNames(bundle, extension)
+            val propertiesFile = Properties()
+            // read as bytes, like ResourceBundle does, so the result does not depend on the JVM's default charset
+            File(sourceRoot, bundle).inputStream().use { read ->
+                propertiesFile.load(read)
+            }
+
+            // Properties are hashed, so sort keys to keep output reproducible
+            val keys = propertiesFile.stringPropertyNames().sorted()
+            val messages = BundleMessage.analyze(keys.associateWith { propertiesFile.getProperty(it) })
+            for (message in messages) {
+                if (!message.valid) {
+                    LOGGER.warn("Message '{}' in bundle {} is not a valid MessageFormat pattern", message.key, bundle)
+                }
+            }
+
+            val templateData = mapOf(
+                "bundleName" to names.bundleName,
+                "packageName" to names.packageName,
+                "className" to names.className,
+                "keys" to keys,
+                "messages" to messages
+            )
+
+            val rendered = StringWriter()
+            renderer.render(templateData, rendered)
+            if (writeIfChanged(File(outputRoot, names.outputPath), rendered.toString())) {
+                written++
+            }
+        }
+        LOGGER.debug("Generated {} of {} localization sources in this batch, the rest were unchanged", written, parameters.bundles.get().size)
+    }
+
+    private fun writeIfChanged(destination: File, contents: String): Boolean {
+        if (destination.isFile && destination.readText() == contents) {
+            return false
+        }
+        destination.parentFile.mkdirs()
+        destination.writeText(contents)
+        return true
+    }
+
+    private fun renderer(): BundleRenderer {
+        val templateFile = parameters.templateFile.orNull
+        if (templateFile != null) {
+            return TemplateBundleRenderer(parameters.templateCache.get().template(templateFile.asFile))
+        }
+        return BundleRenderer.builtIn(parameters.templateType.get())
+            ?: throw InvalidUserDataException("A template file is required to generate ${parameters.templateType.get()} sources")
+    }
+
+    companion object {
+        private val LOGGER = Logging.getLogger(LocalizationGenerateAction::class.java)
+    }
+}
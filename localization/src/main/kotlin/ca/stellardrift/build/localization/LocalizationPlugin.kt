@@ -15,25 +15,33 @@
  */
 package ca.stellardrift.build.localization
 
-import groovy.text.StreamingTemplateEngine
-import java.io.FileReader
-import java.io.FileWriter
+import java.io.File
 import java.util.Locale
-import java.util.Properties
 import javax.inject.Inject
 import org.gradle.api.DefaultTask
+import org.gradle.api.InvalidUserDataException
 import org.gradle.api.Plugin
 import org.gradle.api.Project
 import org.gradle.api.Task
 import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.file.FileSystemOperations
+import org.gradle.api.file.FileType
 import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.file.RelativePath
 import org.gradle.api.model.ObjectFactory
 import org.gradle.api.plugins.JvmEcosystemPlugin
 import org.gradle.api.provider.Property
+import org.gradle.api.provider.Provider
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.IgnoreEmptyDirectories
 import org.gradle.api.tasks.Input
 import org.gradle.api.tasks.InputDirectory
 import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.Optional
 import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
 import org.gradle.api.tasks.SkipWhenEmpty
 import org.gradle.api.tasks.SourceSetContainer
 import org.gradle.api.tasks.TaskAction
@@ -42,6 +50,10 @@ import org.gradle.kotlin.dsl.create
 import org.gradle.kotlin.dsl.getByType
 import org.gradle.kotlin.dsl.named
 import org.gradle.kotlin.dsl.register
+import org.gradle.work.ChangeType
+import org.gradle.work.Incremental
+import org.gradle.work.InputChanges
+import org.gradle.workers.WorkerExecutor
 
 const val MESSAGES_ROOT_NAME = "messages"
 
@@ -54,19 +66,72 @@ open class LocalizationExtension @Inject constructor(objects: ObjectFactory) {
     val templateType: Property<TemplateType> = objects.property(TemplateType::class.java).convention(TemplateType.KOTLIN)
 }
 
+/**
+ * The names derived from the location of a base resource bundle within the messages root.
+ *
+ * @param relativePath the `/`-separated path of the bundle's properties file, relative to the messages root
+ * @param extension the extension of generated source files
+ */
+internal class BundleNames(relativePath: String, extension: String) {
+    private val path = RelativePath.parse(true, relativePath)
+    private val baseName = path.lastName.split('.', limit = 2).first()
+
+    val packageName = path.parent.segments.joinToString(".").toLowerCase(Locale.ROOT)
+    val className = baseName.capitalize()
+    val bundleName = "$packageName.$baseName"
+
+    /**
+     * The path of the generated source file, relative to the output directory.
+     */
+    val outputPath: String = path.replaceLastName("$className.$extension").pathString
+
+    companion object {
+        /**
+         * Whether a file in the messages root is a base bundle that sources should be generated for.
+         *
+         * Translated bundles are excluded, since their keys are already in the base bundle.
+         */
+        fun isBaseBundle(fileName: String): Boolean {
+            return fileName.endsWith(".properties") && !fileName.contains('_')
+        }
+    }
+}
+
+/**
+ * Generate a source file for each resource bundle in a directory.
+ *
+ * Outputs only depend on the contents of the bundles and the template, and keys are always passed to the template in
+ * sorted order, so generated sources can be shared through the build cache.
+ */
+@CacheableTask
 abstract class LocalizationGenerate : DefaultTask() {
-    private val templateEngine = StreamingTemplateEngine()
+    @get:Inject
+    abstract val fileSystemOperations: FileSystemOperations
 
     @get:Inject
-    abstract val objectFactory: ObjectFactory
+    abstract val workerExecutor: WorkerExecutor
 
+    /**
+     * The root of resource bundles to generate sources for.
+     *
+     * Only base bundles are used. Translated bundles, with an `_` in their name, are ignored.
+     */
     @get:InputDirectory
     @get:SkipWhenEmpty
+    @get:IgnoreEmptyDirectories
+    @get:Incremental
+    @get:PathSensitive(PathSensitivity.RELATIVE)
     abstract val resourceBundleSources: DirectoryProperty
 
-    private val tree = objectFactory.fileTree().from(resourceBundleSources)
-
+    /**
+     * The Groovy template to render for each bundle.
+     *
+     * When no template is set, sources are generated by a built-in renderer for the [templateType],
+     * which declares a constant for each key in the bundle.
+     */
     @get:InputFile
+    @get:Optional
+    @get:PathSensitive(PathSensitivity.NONE)
     abstract val templateFile: RegularFileProperty
 
     @get:Input
@@ -75,42 +140,77 @@ abstract class LocalizationGenerate : DefaultTask() {
     @get:OutputDirectory
     abstract val generatedSourcesOut: DirectoryProperty
 
+    @get:Internal
+    abstract val templateCache: Property<LocalizationTemplateCache>
+
     init {
-        tree.include("**/*.properties")
-        tree.exclude { it2 -> it2.name.contains('_') } // Don't include already translated files
         group = "generation"
         description = "Generate source files for resource bundle constants, based on a template and a resource bundle root"
     }
 
+    /**
+     * Generate sources for every bundle that changed since the last execution.
+     *
+     * Sources for removed bundles are deleted, and sources whose content would not change are not rewritten,
+     * so that incremental compilation only sees bundles that actually changed.
+     *
+     * Bundles are split into batches that are generated in parallel by workers.
+     */
     @TaskAction
-    fun generateSources() {
-        val template = templateEngine.createTemplate(templateFile.get().asFile)
-        tree.visit {
-            if (it.isDirectory) {
-                return@visit
-            }
-            val path = it.relativePath
+    fun generateSources(changes: InputChanges) {
+        if (!templateFile.isPresent && BundleRenderer.builtIn(templateType.get()) == null) {
+            throw InvalidUserDataException("A template file is required to generate ${templateType.get()} sources")
+        }
 
-            val packageName = path.parent.segments.joinToString(".").toLowerCase(Locale.ROOT)
-            val className = path.lastName.split('.', limit = 2).first().capitalize()
-            val destinationPath = path.replaceLastName("$className.${templateType.get().extension}").getFile(generatedSourcesOut.asFile.get())
+        val outputRoot = generatedSourcesOut.get().asFile
+        if (!changes.isIncremental) {
+            // the template or its type changed, so every existing output is stale
+            fileSystemOperations.delete { it.delete(outputRoot) }
+            outputRoot.mkdirs()
+        }
 
-            val propertiesFile = Properties()
-            FileReader(it.file).use { read ->
-                propertiesFile.load(read)
+        val extension = templateType.get().extension
+        val bundles = mutableListOf<String>()
+        var removed = 0
+        for (change in changes.getFileChanges(resourceBundleSources)) {
+            if (change.fileType == FileType.DIRECTORY || !BundleNames.isBaseBundle(change.file.name)) {
+                continue
             }
 
-            val templateData = mapOf(
-                "bundleName" to "$packageName.${path.lastName.split('.', limit = 2).first()}",
-                "packageName" to packageName,
-                "className" to className,
-                "keys" to propertiesFile.keys
-            )
+            if (change.changeType == ChangeType.REMOVED) {
+                if (File(outputRoot, BundleNames(change.normalizedPath, extension).outputPath).delete()) {
+                    removed++
+                }
+            } else {
+                bundles.add(change.normalizedPath)
+            }
+        }
+
+        val queue = workerExecutor.noIsolation()
+        val batches = batches(bundles, Runtime.getRuntime().availableProcessors())
+        for (batch in batches) {
+            queue.submit(LocalizationGenerateAction::class.java) { params ->
+                params.templateCache.set(templateCache)
+                params.templateFile.set(templateFile)
+                params.templateType.set(templateType)
+                params.sourceRoot.set(resourceBundleSources)
+                params.outputRoot.set(generatedSourcesOut)
+                params.bundles.set(batch)
+            }
+        }
+        logger.info("Generating {} localization sources in {} batches, and removed {} stale sources", bundles.size, batches.size, removed)
+    }
 
-            destinationPath.parentFile.mkdirs()
-            FileWriter(destinationPath).use { write ->
-                template.make(templateData).writeTo(write)
+    internal companion object {
+        /**
+         * Split bundles into batches, so that every worker gets a couple of batches to balance load between them.
+         */
+        fun <T> batches(bundles: List<T>, workers: Int): List<List<T>> {
+            if (bundles.isEmpty()) {
+                return emptyList()
             }
+            val batchSize = ((bundles.size + workers * 2 - 1) / (workers * 2)).coerceAtLeast(1)
+            return bundles.chunked(batchSize)
         }
     }
 }
@@ -125,7 +225,12 @@ abstract class LocalizationGenerate : DefaultTask() {
  */
 class LocalizationPlugin : Plugin<Project> {
 
-    private fun actuallyApply(project: Project, extension: LocalizationExtension, parentTask: TaskProvider<Task>): Unit = with(project) {
+    private fun actuallyApply(
+        project: Project,
+        extension: LocalizationExtension,
+        templateCache: Provider<LocalizationTemplateCache>,
+        parentTask: TaskProvider<Task>
+    ): Unit = with(project) {
         val sSets = extensions.getByType<SourceSetContainer>()
         sSets.configureEach {
             val messagesFileBasedir = project.file("src/${it.name}/$MESSAGES_ROOT_NAME")
@@ -135,6 +240,8 @@ class LocalizationPlugin : Plugin<Project> {
                 loc.templateFile.set(extension.templateFile)
                 loc.generatedSourcesOut.set(outDir)
                 loc.templateType.set(extension.templateType)
+                loc.templateCache.set(templateCache)
+                loc.usesService(templateCache)
             }
             parentTask.configure { t ->
                 t.dependsOn(task)
@@ -184,9 +291,13 @@ class LocalizationPlugin : Plugin<Project> {
     override fun apply(project: Project) {
         val extension = project.extensions.create<LocalizationExtension>("localization")
         val parentTask = project.tasks.register("generateAllLocalizations")
+        val templateCache = project.gradle.sharedServices.registerIfAbsent(
+            LocalizationTemplateCache.SERVICE_NAME,
+            LocalizationTemplateCache::class.java
+        ) {}
 
         project.plugins.withType(JvmEcosystemPlugin::class.java) {
-            actuallyApply(project, extension, parentTask)
+            actuallyApply(project, extension, templateCache, parentTask)
         }
     }
 }
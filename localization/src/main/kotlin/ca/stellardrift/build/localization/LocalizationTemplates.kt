@@ -0,0 +1,292 @@
+/*
+ * Copyright 2026 zml
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ca.stellardrift.build.localization
+
+import groovy.text.StreamingTemplateEngine
+import groovy.text.Template
+import java.io.File
+import java.io.Writer
+import java.security.MessageDigest
+import org.gradle.api.services.BuildService
+import org.gradle.api.services.BuildServiceParameters
+
+/**
+ * Renders the source file for a single resource bundle.
+ */
+internal interface BundleRenderer {
+    /**
+     * Render a source file.
+     *
+     * @param data the template data describing the bundle
+     * @param out the writer to render to
+     */
+    fun render(data: Map<String, Any>, out: Writer)
+
+    companion object {
+        /**
+         * Get the built-in renderer for a template type, if there is one.
+         */
+        fun builtIn(type: TemplateType): BundleRenderer? = when (type) {
+            TemplateType.JAVA -> JavaBundleRenderer
+            TemplateType.KOTLIN -> KotlinBundleRenderer
+            TemplateType.OTHER -> null
+        }
+    }
+}
+
+/**
+ * A renderer for a user-provided Groovy template.
+ */
+internal class TemplateBundleRenderer(private val template: Template) : BundleRenderer {
+    override fun render(data: Map<String, Any>, out: Writer) {
+        template.make(data).writeTo(out)
+    }
+}
+
+/**
+ * The parts of a bundle that built-in renderers need.
+ */
+private class BundleModel(data: Map<String, Any>) {
+    val bundleName = data["bundleName"] as String
+    val packageName = data["packageName"] as String
+    val className = data["className"] as String
+    val messages = (data["messages"] as List<*>).map { it as BundleMessage }
+
+    /**
+     * Messages that get a typed accessor.
+     */
+    val accessors = messages.filter { it.valid }
+
+    /**
+     * The index of each message's slot in the format cache, for messages that take arguments.
+     *
+     * Messages without arguments are returned as they are, since formatting them would only remove their quotes.
+     */
+    val formatIndices = accessors.filter { it.argumentTypes.isNotEmpty() }.withIndex().associate { it.value.key to it.index }
+}
+
+/**
+ * Escape a value for use in a Java or Kotlin string literal.
+ */
+private fun stringLiteral(value: String, kotlin: Boolean): String {
+    val result = StringBuilder(value.length + 2).append('"')
+    for (c in value) {
+        when {
+            c == '"' -> result.append("\\\"")
+            c == '\\' -> result.append("\\\\")
+            c == '$' && kotlin -> result.append("\\$")
+            c == '\n' -> result.append("\\n")
+            c == '\r' -> result.append("\\r")
+            c == '\t' -> result.append("\\t")
+            c < ' ' -> result.append(String.format("\\u%04x", c.toInt()))
+            else -> result.append(c)
+        }
+    }
+    return result.append('"').toString()
+}
+
+/**
+ * Escape a message value for use on a single line of a documentation comment.
+ *
+ * Javadoc is HTML, and Java reads unicode escapes even inside comments, so no backslash may be left in [html] text.
+ * Kotlin comments nest instead, so neither the start nor the end of a comment may be left in KDoc text.
+ */
+private fun docText(value: String, html: Boolean): String {
+    val singleLine = value.replace(Regex("\\s+"), " ")
+    return if (html) {
+        singleLine.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("@", "&#64;")
+            .replace("\\", "&#92;").replace("*/", "*&#47;")
+    } else {
+        singleLine.replace("*/", "* /").replace("/*", "/ *")
+    }
+}
+
+/**
+ * Generates a Java class with a constant for each key, and a typed accessor for each message, without any template file.
+ */
+internal object JavaBundleRenderer : BundleRenderer {
+    override fun render(data: Map<String, Any>, out: Writer) {
+        val bundle = BundleModel(data)
+        if (bundle.packageName.isNotEmpty()) {
+            out.write("package ${bundle.packageName};\n\n")
+        }
+        out.write("/**\n * Keys in the {@code ${bundle.bundleName}} resource bundle.\n */\n")
+        out.write("public final class ${bundle.className} {\n")
+        out.write("    public static final String BUNDLE_NAME = ${stringLiteral(bundle.bundleName, false)};\n")
+        for (message in bundle.messages) {
+            out.write("    public static final String ${message.constantName} = ${stringLiteral(message.key, false)};\n")
+        }
+        if (bundle.formatIndices.isNotEmpty()) {
+            out.write(
+                "\n    private static final java.util.concurrent.ConcurrentMap<java.util.Locale, " +
+                    "java.util.concurrent.atomic.AtomicReferenceArray<java.text.MessageFormat>> FORMATS " +
+                    "= new java.util.concurrent.ConcurrentHashMap<>();\n"
+            )
+        }
+        out.write("\n    private ${bundle.className}() {\n    }\n")
+
+        for (message in bundle.accessors) {
+            val index = bundle.formatIndices[message.key]
+            if (index == null) {
+                out.write("\n    /**\n     * Get the {@code ${docText(message.key, true)}} message: ${docText(message.value, true)}\n     */\n")
+                out.write("    public static String ${message.accessorName}(final java.util.Locale locale) {\n")
+                out.write("        return java.util.ResourceBundle.getBundle(BUNDLE_NAME, locale).getString(${message.constantName});\n    }\n")
+                continue
+            }
+            out.write("\n    /**\n     * Format the {@code ${docText(message.key, true)}} message: ${docText(message.value, true)}\n     */\n")
+            out.write("    public static String ${message.accessorName}(final java.util.Locale locale")
+            message.argumentTypes.forEachIndexed { argument, type -> out.write(", final ${type.javaType} arg$argument") }
+            out.write(") {\n        return formatMessage(locale, $index, ${message.constantName}")
+            for (argument in message.argumentTypes.indices) {
+                out.write(", arg$argument")
+            }
+            out.write(");\n    }\n")
+        }
+
+        if (bundle.formatIndices.isNotEmpty()) {
+            out.write(
+                """
+                |
+                |    private static String formatMessage(final java.util.Locale locale, final int index, final String key, final Object... args) {
+                |        final java.util.concurrent.atomic.AtomicReferenceArray<java.text.MessageFormat> formats
+                |            = FORMATS.computeIfAbsent(locale, l -> new java.util.concurrent.atomic.AtomicReferenceArray<>(${bundle.formatIndices.size}));
+                |        java.text.MessageFormat format = formats.get(index);
+                |        if (format == null) {
+                |            format = new java.text.MessageFormat(java.util.ResourceBundle.getBundle(BUNDLE_NAME, locale).getString(key), locale);
+                |            if (!formats.compareAndSet(index, null, format)) {
+                |                format = formats.get(index);
+                |            }
+                |        }
+                |        // MessageFormat is not thread-safe, so each call formats with its own copy of the parsed pattern
+                |        return ((java.text.MessageFormat) format.clone()).format(args);
+                |    }
+                |
+                """.trimMargin()
+            )
+        }
+        out.write("}\n")
+    }
+}
+
+/**
+ * Generates a Kotlin object with a constant for each key, and a typed accessor for each message, without any template file.
+ */
+internal object KotlinBundleRenderer : BundleRenderer {
+    override fun render(data: Map<String, Any>, out: Writer) {
+        val bundle = BundleModel(data)
+        if (bundle.packageName.isNotEmpty()) {
+            out.write("package ${bundle.packageName}\n\n")
+        }
+        out.write("/**\n * Keys in the `${bundle.bundleName}` resource bundle.\n */\n")
+        out.write("object ${bundle.className} {\n")
+        out.write("    const val BUNDLE_NAME = ${stringLiteral(bundle.bundleName, true)}\n")
+        for (message in bundle.messages) {
+            out.write("    const val ${message.constantName} = ${stringLiteral(message.key, true)}\n")
+        }
+        if (bundle.formatIndices.isNotEmpty()) {
+            out.write(
+                "\n    private val FORMATS = java.util.concurrent.ConcurrentHashMap<java.util.Locale, " +
+                    "java.util.concurrent.atomic.AtomicReferenceArray<java.text.MessageFormat>>()\n"
+            )
+        }
+        for (message in bundle.accessors) {
+            val index = bundle.formatIndices[message.key]
+            if (index == null) {
+                out.write("\n    /**\n     * Get the `${docText(message.key, false)}` message: ${docText(message.value, false)}\n     */\n")
+                out.write(
+                    "    fun ${message.accessorName}(locale: java.util.Locale): String = " +
+                        "java.util.ResourceBundle.getBundle(BUNDLE_NAME, locale).getString(${message.constantName})\n"
+                )
+                continue
+            }
+            out.write("\n    /**\n     * Format the `${docText(message.key, false)}` message: ${docText(message.value, false)}\n     */\n")
+            out.write("    fun ${message.accessorName}(locale: java.util.Locale")
+            message.argumentTypes.forEachIndexed { argument, type -> out.write(", arg$argument: ${type.kotlinType}") }
+            out.write("): String = formatMessage(locale, $index, ${message.constantName}")
+            for (argument in message.argumentTypes.indices) {
+                out.write(", arg$argument")
+            }
+            out.write(")\n")
+        }
+        if (bundle.formatIndices.isNotEmpty()) {
+            out.write(
+                """
+                |
+                |    private fun formatMessage(locale: java.util.Locale, index: Int, key: String, vararg args: Any?): String {
+                |        val formats = FORMATS.computeIfAbsent(locale) { java.util.concurrent.atomic.AtomicReferenceArray<java.text.MessageFormat>(${bundle.formatIndices.size}) }
+                |        val format = formats.get(index) ?: java.text.MessageFormat(java.util.ResourceBundle.getBundle(BUNDLE_NAME, locale).getString(key), locale).let { created ->
+                |            if (formats.compareAndSet(index, null, created)) created else formats.get(index)
+                |        }
+                |        // MessageFormat is not thread-safe, so each call formats with its own copy of the parsed pattern
+                |        return (format.clone() as java.text.MessageFormat).format(args)
+                |    }
+                |
+                """.trimMargin()
+            )
+        }
+        out.write("}\n")
+    }
+}
+
+/**
+ * A build service holding compiled localization templates, shared by every generation task in the build.
+ *
+ * Templates are keyed by a hash of their contents, so the same template used by several source sets or projects
+ * is only compiled once. The least recently used templates are evicted once the cache is full, and all templates
+ * are released when the build finishes, so their classes can be unloaded by long-lived daemons.
+ */
+abstract class LocalizationTemplateCache : BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    private val templates = object : LinkedHashMap<String, Template>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Template>?): Boolean {
+            return size > MAXIMUM_SIZE
+        }
+    }
+
+    /**
+     * Get the compiled form of a template file, compiling it if its contents have not been seen before.
+     *
+     * Templates are always read as UTF-8, so that the generated sources do not depend on the JVM's default charset.
+     *
+     * @param file the template file
+     * @return the compiled template
+     */
+    fun template(file: File): Template {
+        val contents = file.readBytes()
+        val key = MessageDigest.getInstance("SHA-256").digest(contents).joinToString("") { String.format("%02x", it) }
+        // compile while holding the lock, so that concurrent workers wait for a single compilation
+        synchronized(templates) {
+            return templates.getOrPut(key) {
+                StreamingTemplateEngine().createTemplate(String(contents, Charsets.UTF_8))
+            }
+        }
+    }
+
+    override fun close() {
+        synchronized(templates) {
+            templates.clear()
+        }
+    }
+
+    companion object {
+        internal const val SERVICE_NAME = "localizationTemplateCache"
+
+        /**
+         * The maximum number of compiled templates to keep, well above the number of templates a build usually has.
+         */
+        private const val MAXIMUM_SIZE = 8
+    }
+}
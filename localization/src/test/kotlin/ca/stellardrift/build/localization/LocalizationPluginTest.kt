@@ -15,8 +15,12 @@
  */
 package ca.stellardrift.build.localization
 
+import java.io.StringWriter
 import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
 import kotlin.test.assertNotNull
+import kotlin.test.assertTrue
 import org.gradle.testfixtures.ProjectBuilder
 
 class LocalizationPluginTest {
@@ -30,4 +34,135 @@ class LocalizationPluginTest {
         // Verify the result
         assertNotNull(project.tasks.findByName("generateLocalization"))
     }
+
+    @Test
+    fun `bundle names`() {
+        val names = BundleNames("com/example/messages.properties", TemplateType.JAVA.extension)
+
+        assertEquals("com.example", names.packageName)
+        assertEquals("Messages", names.className)
+        assertEquals("com.example.messages", names.bundleName)
+        assertEquals("com/example/Messages.java", names.outputPath)
+    }
+
+    @Test
+    fun `translated bundles are skipped`() {
+        assertTrue(BundleNames.isBaseBundle("messages.properties"))
+        assertFalse(BundleNames.isBaseBundle("messages_fr.properties"))
+        assertFalse(BundleNames.isBaseBundle("README.md"))
+    }
+
+    @Test
+    fun `bundles are split into batches for every worker`() {
+        val bundles = (1..100).map { "bundle$it.properties" }
+
+        val batches = LocalizationGenerate.batches(bundles, 16)
+        assertEquals(bundles, batches.flatten())
+        assertEquals(25, batches.size)
+        assertEquals(listOf(listOf("a"), listOf("b")), LocalizationGenerate.batches(listOf("a", "b"), 16))
+        assertTrue(LocalizationGenerate.batches(emptyList<String>(), 16).isEmpty())
+    }
+
+    @Test
+    fun `message analysis`() {
+        val messages = BundleMessage.analyze(
+            mapOf(
+                "price.\$" to "Costs {0,number,currency} on {1,date}",
+                "commands.helpText" to "Help for {0}, page {1,number}",
+                "bundle.name" to "Broken {",
+                "class" to "A plain message"
+            )
+        )
+
+        assertEquals(listOf("bundle.name", "class", "commands.helpText", "price.\$"), messages.map { it.key })
+        assertEquals(listOf("BUNDLE_NAME_2", "CLASS", "COMMANDS_HELP_TEXT", "PRICE"), messages.map { it.constantName })
+        assertEquals(listOf("bundleName", "class_", "commandsHelpText", "price"), messages.map { it.accessorName })
+        assertFalse(messages[0].valid)
+        assertEquals(emptyList(), messages[1].argumentTypes)
+        assertEquals(listOf(MessageArgumentType.ANY, MessageArgumentType.NUMBER), messages[2].argumentTypes)
+        assertEquals(listOf(MessageArgumentType.NUMBER, MessageArgumentType.DATE), messages[3].argumentTypes)
+    }
+
+    @Test
+    fun `built-in kotlin renderer`() {
+        val messages = BundleMessage.analyze(
+            mapOf(
+                "commands.helpText" to "Help for {0}, page {1,number}",
+                "bundle.name" to "Broken {",
+                "a.greeting" to "Don't panic"
+            )
+        )
+        val out = StringWriter()
+        KotlinBundleRenderer.render(
+            mapOf(
+                "bundleName" to "com.example.messages",
+                "packageName" to "com.example",
+                "className" to "Messages",
+                "keys" to messages.map { it.key },
+                "messages" to messages
+            ),
+            out
+        )
+
+        val source = out.toString()
+        assertTrue(
+            source.startsWith(
+                """
+                |package com.example
+                |
+                |/**
+                | * Keys in the `com.example.messages` resource bundle.
+                | */
+                |object Messages {
+                |    const val BUNDLE_NAME = "com.example.messages"
+                |    const val A_GREETING = "a.greeting"
+                |    const val BUNDLE_NAME_2 = "bundle.name"
+                |    const val COMMANDS_HELP_TEXT = "commands.helpText"
+                |
+                """.trimMargin()
+            ),
+            source
+        )
+        assertTrue(
+            source.contains(
+                "    fun commandsHelpText(locale: java.util.Locale, arg0: Any?, arg1: Number): String = " +
+                    "formatMessage(locale, 0, COMMANDS_HELP_TEXT, arg0, arg1)\n"
+            ),
+            source
+        )
+        // messages without arguments are not formatted, so their quotes are kept
+        assertTrue(
+            source.contains(
+                "    fun aGreeting(locale: java.util.Locale): String = " +
+                    "java.util.ResourceBundle.getBundle(BUNDLE_NAME, locale).getString(A_GREETING)\n"
+            ),
+            source
+        )
+        assertFalse(source.contains("synchronized"), source)
+        // invalid patterns only get a constant
+        assertFalse(source.contains("fun bundleName("), source)
+    }
+
+    @Test
+    fun `built-in renderers escape documentation`() {
+        val messages = BundleMessage.analyze(
+            mapOf(
+                "paths.home" to "Home is C:\\users\\bob, see /* notes */ for {0}"
+            )
+        )
+        val data = mapOf(
+            "bundleName" to "com.example.messages",
+            "packageName" to "com.example",
+            "className" to "Messages",
+            "keys" to messages.map { it.key },
+            "messages" to messages
+        )
+
+        val java = StringWriter().also { JavaBundleRenderer.render(data, it) }.toString()
+        // a backslash in a comment would be read as the start of a unicode escape
+        assertTrue(java.contains("Home is C:&#92;users&#92;bob, see /* notes *&#47; for {0}"), java)
+
+        val kotlin = StringWriter().also { KotlinBundleRenderer.render(data, it) }.toString()
+        assertTrue(kotlin.contains("Home is C:\\users\\bob, see / * notes * / for {0}"), kotlin)
+    }
 }